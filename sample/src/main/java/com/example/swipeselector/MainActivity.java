@@ -12,6 +12,11 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+
+        // The items XML files were compiled by swipe-items.gradle, so the
+        // SwipeSelectors don't have to parse them. In a real app, this
+        // would go to Application.onCreate().
+        SwipeItemTables.register();
         setContentView(R.layout.activity_main);
 
         final SwipeSelector sizeSelector = (SwipeSelector) findViewById(R.id.sizeSelector);
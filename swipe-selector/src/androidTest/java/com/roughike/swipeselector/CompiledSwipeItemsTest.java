@@ -0,0 +1,92 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.roughike.swipeselector.test.R;
+import com.roughike.swipeselector.test.SwipeItemTables;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks the tables swipe-items.gradle generates for the XML files of these tests
+ * against what SwipeItemParser makes of the same files.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CompiledSwipeItemsTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getContext();
+        SwipeItemTables.register();
+    }
+
+    @Test
+    public void hardcodedItemsShouldMatchTheParsedOnes() {
+        assertCompiledItemsMatchTheParsedOnes(R.xml.swipe_items_harcoded);
+    }
+
+    @Test
+    public void stringResourceItemsShouldMatchTheParsedOnes() {
+        assertCompiledItemsMatchTheParsedOnes(R.xml.swipe_items_with_string_resources);
+    }
+
+    @Test
+    public void escapedItemsShouldMatchTheParsedOnes() {
+        assertCompiledItemsMatchTheParsedOnes(R.xml.swipe_items_escaped);
+    }
+
+    @Test
+    public void itemsWithTypedValuesShouldBeLeftForTheParser() {
+        assertThat(CompiledSwipeItems.isCompiled(R.xml.swipe_items_typed), is(false));
+
+        List<SwipeItem> items = CompiledSwipeItems.load(context, R.xml.swipe_items_typed);
+        assertThat(items.size(), is(2));
+    }
+
+    private void assertCompiledItemsMatchTheParsedOnes(int itemsXmlResource) {
+        assertThat(CompiledSwipeItems.isCompiled(itemsXmlResource), is(true));
+
+        List<SwipeItem> compiled = CompiledSwipeItems.load(context, itemsXmlResource);
+        List<SwipeItem> parsed = new SwipeItemParser(context, itemsXmlResource).parseItems();
+
+        assertThat(compiled.size(), is(parsed.size()));
+
+        for (int i = 0; i < parsed.size(); i++) {
+            SwipeItem expected = parsed.get(i);
+            SwipeItem actual = compiled.get(i);
+            String item = "item " + i + " of " + context.getResources().getResourceName(itemsXmlResource);
+
+            assertThat(item, actual.getValue(), is(expected.getValue()));
+            assertThat(item, actual.getTitle(), is(expected.getTitle()));
+            assertThat(item, actual.getDescription(), is(expected.getDescription()));
+            assertThat(item, actual.getTitleResource(), is(expected.getTitleResource()));
+            assertThat(item, actual.getDescriptionResource(), is(expected.getDescriptionResource()));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.View;
+import android.widget.ImageView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compares the regular pages, a LinearLayout with two TextViews, with the
+ * flattened {@link SwipeItemView} pages. It runs on a device, since the text
+ * measuring and drawing are what's being compared, and Robolectric only fakes them.
+ * The benchmarks take a while, so they only run when asked for:
+ *
+ *     ./gradlew :swipe-selector:connectedDebugAndroidTest
+ *             -Pandroid.testInstrumentationRunnerArguments.benchmark=true
+ *
+ * The results go to the log, tagged "PageRendererBenchmark", in nanoseconds per page.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PageRendererBenchmark {
+    private static final String TAG = "PageRendererBenchmark";
+    private static final int ITEM_COUNT = 100;
+    private static final int PAGE_WIDTH = 1080;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        assumeTrue("true".equals(InstrumentationRegistry.getArguments().getString("benchmark")));
+        context = InstrumentationRegistry.getTargetContext();
+    }
+
+    @Test
+    @UiThreadTest
+    public void textViewPages() {
+        measurePages("textViews", false);
+    }
+
+    @Test
+    @UiThreadTest
+    public void flattenedPages() {
+        measurePages("flattened", true);
+    }
+
+    private void measurePages(String renderer, boolean flattened) {
+        final SwipeAdapter adapter = newAdapter(flattened);
+        final PageViewHolder page = adapter.createPage();
+        final View view = page.itemView;
+        final int widthSpec = View.MeasureSpec.makeMeasureSpec(PAGE_WIDTH, View.MeasureSpec.EXACTLY);
+        final int heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+        adapter.onPagerMeasured(PAGE_WIDTH);
+        adapter.bindPage(page, 0);
+        view.measure(widthSpec, heightSpec);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+
+        final Canvas canvas = new Canvas(Bitmap.createBitmap(PAGE_WIDTH,
+                Math.max(1, view.getMeasuredHeight()) * 2, Bitmap.Config.ARGB_8888));
+
+        // Binding a different item every time, so nothing can be skipped because
+        // it's the same as the last time.
+        measure(renderer + ".bindAndMeasure", new Runnable() {
+            int position;
+
+            @Override
+            public void run() {
+                position = (position + 1) % ITEM_COUNT;
+                adapter.bindPage(page, position);
+                view.measure(widthSpec, heightSpec);
+            }
+        });
+
+        measure(renderer + ".layout", new Runnable() {
+            @Override
+            public void run() {
+                view.requestLayout();
+                view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+            }
+        });
+
+        measure(renderer + ".draw", new Runnable() {
+            @Override
+            public void run() {
+                view.draw(canvas);
+            }
+        });
+    }
+
+    /**
+     * Runs the operation for every item a number of times, and logs the median
+     * time of one operation.
+     */
+    private void measure(String name, Runnable operation) {
+        long[] nanosPerOperation = new long[MEASURED_RUNS];
+
+        for (int run = -WARMUP_RUNS; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+
+            for (int i = 0; i < ITEM_COUNT; i++) {
+                operation.run();
+            }
+
+            if (run >= 0) {
+                nanosPerOperation[run] = (System.nanoTime() - start) / ITEM_COUNT;
+            }
+        }
+
+        Arrays.sort(nanosPerOperation);
+        Log.i(TAG, String.format(Locale.US, "%s[%d]: %d ns/op",
+                name, ITEM_COUNT, nanosPerOperation[MEASURED_RUNS / 2]));
+    }
+
+    private SwipeAdapter newAdapter(boolean flattened) {
+        SwipeAdapter adapter = new SwipeAdapter.Builder()
+                .viewPager(new WrappingPager(context))
+                .indicatorStrip(new IndicatorStripView(context))
+                .leftButton(new ImageView(context))
+                .rightButton(new ImageView(context))
+                .leftButtonResource(R.drawable.ic_action_navigation_chevron_left)
+                .rightButtonResource(R.drawable.ic_action_navigation_chevron_right)
+                .titleTextAppearance(-1)
+                .descriptionTextAppearance(-1)
+                .descriptionGravity(-1)
+                .flattenItemViews(flattened)
+                .build();
+
+        List<SwipeItem> items = new ArrayList<>(ITEM_COUNT);
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(new SwipeItem("value" + i, "Title " + i,
+                    "A somewhat longer description for item " + i
+                            + ", long enough to wrap on most screens."));
+        }
+
+        adapter.setItems(items);
+        return adapter;
+    }
+}
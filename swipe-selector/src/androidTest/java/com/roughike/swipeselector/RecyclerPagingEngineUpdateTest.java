@@ -0,0 +1,169 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.widget.ImageView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Replays what {@link RecyclerPagingEngine} tells its RecyclerView about an update
+ * on the old values, which has to end up with the new ones.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecyclerPagingEngineUpdateTest {
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    private RecyclerPagingEngine engine;
+    private List<String> pages;
+    private List<String> notifications;
+
+    @Before
+    public void setUp() throws Throwable {
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                engine = new RecyclerPagingEngine(context);
+                SwipeAdapter adapter = new SwipeAdapter.Builder()
+                        .pagingEngine(engine)
+                        .indicatorStrip(new IndicatorStripView(context))
+                        .leftButton(new ImageView(context))
+                        .rightButton(new ImageView(context))
+                        .leftButtonResource(R.drawable.ic_action_navigation_chevron_left)
+                        .rightButtonResource(R.drawable.ic_action_navigation_chevron_right)
+                        .titleTextAppearance(-1)
+                        .descriptionTextAppearance(-1)
+                        .descriptionGravity(-1)
+                        .build();
+                engine.attach(adapter);
+
+                ((RecyclerView) engine.getView()).getAdapter()
+                        .registerAdapterDataObserver(new ReplayingObserver());
+            }
+        });
+    }
+
+    @Test
+    @UiThreadTest
+    public void movedItemsShouldOnlyBeMoved() {
+        update(values("a", "b", "c", "d", "e"), values("b", "c", "d", "e", "a"));
+
+        assertThat(pages, is(Arrays.asList("b", "c", "d", "e", "a")));
+        assertThat(notifications, is(Arrays.asList("move 0 to 4")));
+    }
+
+    @Test
+    @UiThreadTest
+    public void onlyTheChangedItemsShouldBeRebound() {
+        List<SwipeItem> newItems = values("a", "b", "c", "d");
+        newItems.set(2, new SwipeItem("c", "Another title", null));
+
+        update(values("a", "b", "c", "d"), newItems);
+
+        assertThat(pages, is(Arrays.asList("a", "b", "c", "d")));
+        assertThat(notifications, is(Arrays.asList("change 2 1")));
+    }
+
+    @Test
+    @UiThreadTest
+    public void removalsInsertionsAndMovesShouldAddUp() {
+        update(values("a", "b", "c", "d", "e", "f"), values("f", "x", "a", "c", "y", "z", "e"));
+
+        assertThat(pages, is(Arrays.asList("f", "+", "a", "c", "+", "+", "e")));
+        assertThat(notifications, is(Arrays.asList(
+                "remove 3 1", "remove 1 1", "move 3 to 0", "insert 1 1", "insert 4 2")));
+    }
+
+    private void update(List<SwipeItem> oldItems, List<SwipeItem> newItems) {
+        pages = new ArrayList<>();
+        notifications = new ArrayList<>();
+
+        for (SwipeItem item : oldItems) {
+            pages.add(item.getValue());
+        }
+
+        engine.onItemsUpdated(SwipeItemDiff.calculate(oldItems, newItems));
+    }
+
+    private static List<SwipeItem> values(String... values) {
+        List<SwipeItem> items = new ArrayList<>();
+
+        for (String value : values) {
+            items.add(new SwipeItem(value, value, null));
+        }
+
+        return items;
+    }
+
+    /**
+     * Applies the notifications to the values of the pages, with the inserted
+     * pages as "+".
+     */
+    private class ReplayingObserver extends RecyclerView.AdapterDataObserver {
+        @Override
+        public void onChanged() {
+            notifications.add("everything");
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            notifications.add("change " + positionStart + " " + itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            notifications.add("insert " + positionStart + " " + itemCount);
+
+            for (int i = 0; i < itemCount; i++) {
+                pages.add(positionStart, "+");
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            notifications.add("remove " + positionStart + " " + itemCount);
+
+            for (int i = 0; i < itemCount; i++) {
+                pages.remove(positionStart);
+            }
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            notifications.add("move " + fromPosition + " to " + toPosition);
+            pages.add(toPosition, pages.remove(fromPosition));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public class SavedItemsTest {
+    private Context context;
+    private List<SwipeItem> resourcedItems;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getContext();
+        resourcedItems = new SwipeItemParser(
+                context,
+                com.roughike.swipeselector.test.R.xml.swipe_items_with_string_resources
+        ).parseItems();
+    }
+
+    @Test
+    public void shouldRestoreHardcodedItems() {
+        List<SwipeItem> items = new ArrayList<>();
+        items.add(new SwipeItem("pizza", "Pizza", "Pizza is love. Pizza is life."));
+        items.add(new SwipeItem("burger", "Hamburger", null));
+
+        List<SwipeItem> restored = SavedItems.restore(context,
+                SavedItems.save(items, SavedItems.DEFAULT_MAX_BYTES));
+
+        assertThat(restored.size(), is(2));
+        assertThat(restored.get(0).getValue(), is("pizza"));
+        assertThat(restored.get(0).getTitle(), is("Pizza"));
+        assertThat(restored.get(0).getDescription(), is("Pizza is love. Pizza is life."));
+        assertThat(restored.get(1).getDescription(), nullValue());
+    }
+
+    @Test
+    public void shouldRestoreStringResourceItems() {
+        List<SwipeItem> restored = SavedItems.restore(context,
+                SavedItems.save(resourcedItems, SavedItems.DEFAULT_MAX_BYTES));
+
+        assertThat(restored.size(), is(3));
+        assertThat(restored.get(1).getValue(), is("burger"));
+        assertThat(restored.get(1).getTitle(), is("Hamburger"));
+        assertThat(restored.get(1).getTitleResource(),
+                is(resourcedItems.get(1).getTitleResource()));
+    }
+
+    @Test
+    public void shouldNotSaveTooManyItems() {
+        List<SwipeItem> items = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            items.add(new SwipeItem("value" + i, "Title " + i, "Description " + i));
+        }
+
+        Bundle saved = SavedItems.save(items, 1024);
+        assertThat(saved, nullValue());
+    }
+}
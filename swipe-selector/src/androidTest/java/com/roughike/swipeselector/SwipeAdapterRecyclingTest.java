@@ -0,0 +1,197 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.SparseArray;
+import android.view.Gravity;
+import android.view.View;
+import android.widget.ImageView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public class SwipeAdapterRecyclingTest {
+    private static final int ITEM_COUNT = 500;
+
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    private WrappingPager pager;
+    private SwipeAdapter adapter;
+
+    @Before
+    public void setUp() throws Throwable {
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                pager = new WrappingPager(context);
+                adapter = newAdapter(context, -1);
+            }
+        });
+    }
+
+    private SwipeAdapter newAdapter(Context context, int descriptionGravity) {
+        SwipeAdapter adapter = new SwipeAdapter.Builder()
+                .viewPager(pager)
+                .indicatorStrip(new IndicatorStripView(context))
+                .leftButton(new ImageView(context))
+                .rightButton(new ImageView(context))
+                .leftButtonResource(R.drawable.ic_action_navigation_chevron_left)
+                .rightButtonResource(R.drawable.ic_action_navigation_chevron_right)
+                .titleTextAppearance(-1)
+                .descriptionTextAppearance(-1)
+                .descriptionGravity(descriptionGravity)
+                .build();
+
+        List<SwipeItem> items = new ArrayList<>();
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(new SwipeItem("value" + i, "Title " + i,
+                    i % 3 == 0 ? null : "Description " + i));
+        }
+
+        adapter.setItems(items);
+        return adapter;
+    }
+
+    @Test
+    @UiThreadTest
+    public void swipingThroughAllItemsOnlyInflatesTheOffscreenWindow() {
+        SparseArray<Object> pages = new SparseArray<>();
+        pages.put(0, adapter.instantiateItem(pager, 0));
+        pages.put(1, adapter.instantiateItem(pager, 1));
+
+        // Swipe forward, and then all the way back, like ViewPager would with the
+        // default offscreen page limit of one.
+        for (int position = 1; position < ITEM_COUNT; position++) {
+            moveWindow(pages, position, position - 2, position + 1);
+        }
+
+        for (int position = ITEM_COUNT - 2; position >= 0; position--) {
+            moveWindow(pages, position, position + 2, position - 1);
+        }
+
+        assertThat(adapter.getPagePool().getInflationCount(), is(3));
+    }
+
+    @Test
+    @UiThreadTest
+    public void recycledPagesShowTheRightItem() {
+        Object first = adapter.instantiateItem(pager, 0);
+        adapter.destroyItem(pager, 0, first);
+
+        Object second = adapter.instantiateItem(pager, 1);
+        PageViewHolder holder = PageViewHolder.from((View) second);
+
+        assertThat(second == first, is(true));
+        assertThat(holder.title.getText().toString(), is("Title 1"));
+        assertThat(holder.description.getText().toString(), is("Description 1"));
+        assertThat(holder.description.getVisibility(), is(View.VISIBLE));
+
+        adapter.destroyItem(pager, 1, second);
+        Object third = adapter.instantiateItem(pager, 3);
+
+        assertThat(holder.title.getText().toString(), is("Title 3"));
+        assertThat(holder.description.getVisibility(), is(View.GONE));
+        assertThat(third == first, is(true));
+    }
+
+    @Test
+    @UiThreadTest
+    public void sharedPagesDontKeepTheStyleOfAnotherSelector() {
+        Context context = InstrumentationRegistry.getTargetContext();
+        PageViewPool pool = new PageViewPool(context);
+        SwipeAdapter styledAdapter = newAdapter(context, 2);
+        styledAdapter.setPagePool(pool);
+        adapter.setPagePool(pool);
+
+        Object page = adapter.instantiateItem(pager, 0);
+        PageViewHolder holder = PageViewHolder.from((View) page);
+        int originalGravity = holder.description.getGravity();
+        adapter.destroyItem(pager, 0, page);
+
+        Object styledPage = styledAdapter.instantiateItem(pager, 0);
+        assertThat(styledPage == page, is(true));
+        assertThat(holder.description.getGravity(), is(Gravity.END));
+        styledAdapter.destroyItem(pager, 0, styledPage);
+
+        assertThat(adapter.instantiateItem(pager, 1) == page, is(true));
+        assertThat(holder.description.getGravity(), is(originalGravity));
+    }
+
+    @Test
+    public void preinflatedPagesSpareTheMainThreadFromInflating() throws Throwable {
+        final PageViewPool pool = new PageViewPool(InstrumentationRegistry.getTargetContext());
+
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                pool.preinflate(3);
+                // Asking again while the pages are on their way doesn't inflate more.
+                pool.preinflate(3);
+            }
+        });
+
+        for (int i = 0; i < 500 && pool.getPreinflationCount() < 3; i++) {
+            Thread.sleep(10);
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        }
+
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                adapter.setPagePool(pool);
+
+                for (int position = 0; position < 3; position++) {
+                    adapter.instantiateItem(pager, position);
+                }
+            }
+        });
+
+        assertThat(pool.getPreinflationCount(), is(3));
+        assertThat(pool.getInflationCount(), is(0));
+    }
+
+    private void moveWindow(SparseArray<Object> pages, int current, int leaving, int entering) {
+        if (leaving >= 0 && leaving < ITEM_COUNT && pages.get(leaving) != null) {
+            adapter.destroyItem(pager, leaving, pages.get(leaving));
+            pages.remove(leaving);
+        }
+
+        if (entering >= 0 && entering < ITEM_COUNT && pages.get(entering) == null) {
+            pages.put(entering, adapter.instantiateItem(pager, entering));
+        }
+
+        assertThat(pages.get(current) != null, is(true));
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewPager;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks what {@link SwipeAdapter#getItemPosition(Object)} tells the pager about
+ * each page while the items are being updated or reset.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SwipeAdapterUpdateTest {
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    private RecordingEngine engine;
+    private SwipeAdapter adapter;
+    private List<SwipeItem> items;
+    private List<Object> pages;
+
+    @Before
+    public void setUp() throws Throwable {
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                engine = new RecordingEngine(new FrameLayout(context));
+                adapter = new SwipeAdapter.Builder()
+                        .pagingEngine(engine)
+                        .indicatorStrip(new IndicatorStripView(context))
+                        .leftButton(new ImageView(context))
+                        .rightButton(new ImageView(context))
+                        .leftButtonResource(R.drawable.ic_action_navigation_chevron_left)
+                        .rightButtonResource(R.drawable.ic_action_navigation_chevron_right)
+                        .titleTextAppearance(-1)
+                        .descriptionTextAppearance(-1)
+                        .descriptionGravity(-1)
+                        .build();
+                engine.attach(adapter);
+
+                items = new ArrayList<>();
+
+                for (int i = 0; i < 4; i++) {
+                    items.add(new SwipeItem("value" + i, "Title " + i, null));
+                }
+
+                adapter.setItems(items);
+                pages = new ArrayList<>();
+
+                for (int i = 0; i < 4; i++) {
+                    pages.add(adapter.instantiateItem(engine.getView(), i));
+                }
+            }
+        });
+    }
+
+    @Test
+    @UiThreadTest
+    public void pagesShouldBeUnchangedOutsideOfUpdates() {
+        assertThat(adapter.getItemPosition(pages.get(2)), is(PagerAdapter.POSITION_UNCHANGED));
+    }
+
+    @Test
+    @UiThreadTest
+    public void removedPagesShouldGoAndTheOnesAfterShouldMove() {
+        items.remove(1);
+        adapter.notifyItemsRemoved(1, 1);
+
+        assertThat(engine.positions, is(Arrays.asList(
+                PagerAdapter.POSITION_UNCHANGED, PagerAdapter.POSITION_NONE, 1, 2)));
+        assertThat(boundPositionOf(pages.get(2)), is(1));
+        assertThat(titleOf(pages.get(2)), is("Title 2"));
+    }
+
+    @Test
+    @UiThreadTest
+    public void movedPagesShouldFollowTheirItems() {
+        items.add(0, items.remove(2));
+        adapter.notifyItemMoved(2, 0);
+
+        assertThat(engine.positions, is(Arrays.asList(1, 2, 0, PagerAdapter.POSITION_UNCHANGED)));
+        assertThat(titleOf(pages.get(2)), is("Title 2"));
+    }
+
+    @Test
+    @UiThreadTest
+    public void changedPagesShouldBeReboundInPlace() {
+        items.set(3, new SwipeItem("value3", "Changed", null));
+        adapter.notifyItemsChanged(3, 1);
+
+        assertThat(engine.positions, is(Arrays.asList(
+                PagerAdapter.POSITION_UNCHANGED, PagerAdapter.POSITION_UNCHANGED,
+                PagerAdapter.POSITION_UNCHANGED, PagerAdapter.POSITION_UNCHANGED)));
+        assertThat(titleOf(pages.get(3)), is("Changed"));
+    }
+
+    @Test
+    @UiThreadTest
+    public void resettingShouldDropEveryPage() {
+        List<SwipeItem> otherItems = new ArrayList<>();
+        otherItems.add(new SwipeItem("other", "Other", null));
+        adapter.setItems(otherItems);
+
+        assertThat(engine.positions, is(Arrays.asList(
+                PagerAdapter.POSITION_NONE, PagerAdapter.POSITION_NONE,
+                PagerAdapter.POSITION_NONE, PagerAdapter.POSITION_NONE)));
+    }
+
+    private static int boundPositionOf(Object page) {
+        return PageViewHolder.from((View) page).boundPosition;
+    }
+
+    private static String titleOf(Object page) {
+        return PageViewHolder.from((View) page).title.getText().toString();
+    }
+
+    /**
+     * Asks the adapter about every page it has, the same way ViewPager does when
+     * notified of a change.
+     */
+    private class RecordingEngine implements PagingEngine {
+        private final ViewGroup view;
+        private SwipeAdapter adapter;
+        List<Integer> positions = new ArrayList<>();
+
+        RecordingEngine(ViewGroup view) {
+            this.view = view;
+        }
+
+        @Override
+        public ViewGroup getView() {
+            return view;
+        }
+
+        @Override
+        public void attach(SwipeAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public void addOnPageChangeListener(ViewPager.OnPageChangeListener listener) {
+        }
+
+        @Override
+        public void setCurrentItem(int position, boolean smoothScroll) {
+        }
+
+        @Override
+        public int getCurrentItem() {
+            return 0;
+        }
+
+        @Override
+        public int getOffscreenPageLimit() {
+            return 1;
+        }
+
+        @Override
+        public void onItemsReset() {
+            askForPositions();
+        }
+
+        @Override
+        public void onItemsUpdated(SwipeItemDiff.Result update) {
+            askForPositions();
+        }
+
+        private void askForPositions() {
+            positions = new ArrayList<>();
+
+            if (pages == null) {
+                return;
+            }
+
+            for (Object page : pages) {
+                positions.add(adapter.getItemPosition(page));
+            }
+        }
+    }
+}
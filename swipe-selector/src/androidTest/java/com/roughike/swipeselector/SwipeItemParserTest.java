@@ -18,6 +18,9 @@
 package com.roughike.swipeselector;
 
 import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+import android.support.annotation.NonNull;
 import android.support.test.InstrumentationRegistry;
 import android.support.test.runner.AndroidJUnit4;
 
@@ -82,6 +85,37 @@ public class SwipeItemParserTest {
         assertThat(resourcedItems.get(2).getTitle(), is("Sushi"));
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void stringResourcesShouldOnlyBeLookedUpOnce() {
+        Context context = InstrumentationRegistry.getContext();
+        Resources resources = context.getResources();
+        final CountingResources countingResources = new CountingResources(resources);
+
+        List<SwipeItem> items = new SwipeItemParser(
+                new ContextWrapper(context) {
+                    @Override
+                    public Resources getResources() {
+                        return countingResources;
+                    }
+                },
+                com.roughike.swipeselector.test.R.xml.swipe_items_with_string_resources
+        ).parseItems();
+
+        // The values are looked up while parsing, the titles and descriptions aren't.
+        assertThat(countingResources.lookups, is(items.size()));
+        countingResources.lookups = 0;
+
+        SwipeItem item = items.get(0);
+
+        item.getTitle();
+        item.getTitle();
+        item.getDescription();
+        item.getDescription();
+
+        assertThat(countingResources.lookups, is(2));
+    }
+
     @Test
     public void shouldHaveCorrectHardcodedDescriptions() {
         assertThat(hardCodedItems.get(0).getDescription(), is("Pizza is love. Pizza is life."));
@@ -95,4 +129,20 @@ public class SwipeItemParserTest {
         assertThat(resourcedItems.get(1).getDescription(), is("EY WOOD LAKE TO BYE A AMBURGER"));
         assertThat(resourcedItems.get(2).getDescription(), is("Who doesn't love raw fish?"));
     }
+
+    private static class CountingResources extends Resources {
+        int lookups;
+
+        @SuppressWarnings("deprecation")
+        CountingResources(Resources resources) {
+            super(resources.getAssets(), resources.getDisplayMetrics(), resources.getConfiguration());
+        }
+
+        @NonNull
+        @Override
+        public String getString(int id) throws NotFoundException {
+            lookups++;
+            return super.getString(id);
+        }
+    }
 }
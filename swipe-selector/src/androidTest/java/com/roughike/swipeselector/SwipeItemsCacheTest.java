@@ -0,0 +1,87 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.Assert.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public class SwipeItemsCacheTest {
+    private static final int ITEMS = com.roughike.swipeselector.test.R.xml.swipe_items_harcoded;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getContext();
+        SwipeItemsCache.clear();
+    }
+
+    @Test
+    public void shouldShareTheSameItems() {
+        List<SwipeItem> first = SwipeItemsCache.get(context, ITEMS);
+        List<SwipeItem> second = SwipeItemsCache.get(context, ITEMS);
+
+        assertThat(second, sameInstance(first));
+        assertThat(first.size(), is(3));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void sharedItemsShouldNotBeModifiable() {
+        SwipeItemsCache.get(context, ITEMS).clear();
+    }
+
+    @Test
+    public void shouldLoadAgainForAnotherConfiguration() {
+        List<SwipeItem> first = SwipeItemsCache.get(context, ITEMS);
+
+        assertThat(SwipeItemsCache.get(otherConfigurationContext(), ITEMS), not(sameInstance(first)));
+    }
+
+    @Test
+    public void contextsWithDifferentConfigurationsShouldKeepTheirOwnItems() {
+        Context otherContext = otherConfigurationContext();
+        List<SwipeItem> first = SwipeItemsCache.get(context, ITEMS);
+        List<SwipeItem> other = SwipeItemsCache.get(otherContext, ITEMS);
+
+        assertThat(SwipeItemsCache.get(context, ITEMS), sameInstance(first));
+        assertThat(SwipeItemsCache.get(otherContext, ITEMS), sameInstance(other));
+    }
+
+    @SuppressWarnings("deprecation")
+    private Context otherConfigurationContext() {
+        Configuration configuration = new Configuration(context.getResources().getConfiguration());
+        configuration.locale = Locale.JAPANESE.equals(configuration.locale)
+                ? Locale.GERMAN : Locale.JAPANESE;
+        return context.createConfigurationContext(configuration);
+    }
+}
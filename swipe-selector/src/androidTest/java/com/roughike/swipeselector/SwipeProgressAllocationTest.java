@@ -0,0 +1,142 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+import android.widget.ImageView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public class SwipeProgressAllocationTest {
+    private static final int ITEM_COUNT = 10;
+    private static final int FRAMES_PER_PAGE = 30;
+
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    private IndicatorStripView indicatorStrip;
+    private SwipeAdapter adapter;
+    private Bitmap bitmap;
+    private Canvas canvas;
+    private int progressCallbacks;
+
+    @Before
+    public void setUp() throws Throwable {
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                indicatorStrip = new IndicatorStripView(context);
+                adapter = new SwipeAdapter.Builder()
+                        .viewPager(new WrappingPager(context))
+                        .indicatorStrip(indicatorStrip)
+                        .indicatorSize((int) PixelUtils.dpToPixel(context, 8))
+                        .indicatorMargin((int) PixelUtils.dpToPixel(context, 8))
+                        .leftButton(new ImageView(context))
+                        .rightButton(new ImageView(context))
+                        .leftButtonResource(R.drawable.ic_action_navigation_chevron_left)
+                        .rightButtonResource(R.drawable.ic_action_navigation_chevron_right)
+                        .titleTextAppearance(-1)
+                        .descriptionTextAppearance(-1)
+                        .descriptionGravity(-1)
+                        .build();
+
+                List<SwipeItem> items = new ArrayList<>();
+
+                for (int i = 0; i < ITEM_COUNT; i++) {
+                    items.add(new SwipeItem("value" + i, "Title " + i, "Description " + i));
+                }
+
+                adapter.setItems(items);
+                adapter.setOnSwipeProgressListener(new OnSwipeProgressListener() {
+                    @Override
+                    public void onSwipeProgress(int position, float positionOffset) {
+                        progressCallbacks++;
+                    }
+                });
+
+                indicatorStrip.measure(
+                        View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED),
+                        View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+                indicatorStrip.layout(0, 0,
+                        indicatorStrip.getMeasuredWidth(), indicatorStrip.getMeasuredHeight());
+
+                bitmap = Bitmap.createBitmap(indicatorStrip.getMeasuredWidth(),
+                        indicatorStrip.getMeasuredHeight(), Bitmap.Config.ARGB_8888);
+                canvas = new Canvas(bitmap);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        bitmap.recycle();
+    }
+
+    @Test
+    @UiThreadTest
+    @SuppressWarnings("deprecation")
+    public void draggingAcrossAllItemsDoesNotAllocate() {
+        // Once through first, so anything lazily created on the first frames
+        // doesn't count.
+        drag();
+
+        Debug.startAllocCounting();
+        Debug.resetThreadAllocCount();
+
+        drag();
+
+        int allocations = Debug.getThreadAllocCount();
+        Debug.stopAllocCounting();
+
+        assertThat(allocations, is(0));
+        assertThat(progressCallbacks, is(2 * (ITEM_COUNT - 1) * FRAMES_PER_PAGE));
+    }
+
+    private void drag() {
+        int pageWidth = 1080;
+
+        for (int position = 0; position < ITEM_COUNT - 1; position++) {
+            for (int frame = 0; frame < FRAMES_PER_PAGE; frame++) {
+                float offset = frame / (float) FRAMES_PER_PAGE;
+
+                adapter.onPageScrolled(position, offset, (int) (offset * pageWidth));
+                indicatorStrip.draw(canvas);
+            }
+        }
+    }
+}
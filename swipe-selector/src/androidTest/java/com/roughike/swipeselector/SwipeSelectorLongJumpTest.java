@@ -0,0 +1,130 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.rule.ActivityTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.LayoutInflater;
+
+import com.roughike.swipeselector.test.R;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Animates a selection far away, and checks that only the pages around the target
+ * get bound, not the ones in between.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SwipeSelectorLongJumpTest {
+    private static final int ITEM_COUNT = 1000;
+    private static final int TARGET = 800;
+
+    @Rule
+    public ActivityTestRule<TestActivity> activityRule = new ActivityTestRule<>(TestActivity.class);
+
+    private final List<Integer> requestedPositions = new ArrayList<>();
+    private SwipeSelector selector;
+    private SwipeMetrics metrics;
+
+    @Test
+    public void viewPagerShouldOnlyBindThePagesAroundTheTarget() throws Throwable {
+        assertLongJumpOnlyBindsThePagesAroundTheTarget(R.layout.swipe_selector_view_pager);
+    }
+
+    @Test
+    public void recyclerViewShouldOnlyBindThePagesAroundTheTarget() throws Throwable {
+        assertLongJumpOnlyBindsThePagesAroundTheTarget(R.layout.swipe_selector_recycler_view);
+    }
+
+    private void assertLongJumpOnlyBindsThePagesAroundTheTarget(final int layout) throws Throwable {
+        final TestActivity activity = activityRule.getActivity();
+
+        activityRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                selector = (SwipeSelector) LayoutInflater.from(activity).inflate(layout, null);
+                metrics = new SwipeMetrics();
+                selector.setMetrics(metrics);
+                selector.setItemSource(new RecordingSource());
+                activity.setContentView(selector);
+            }
+        });
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        activityRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                requestedPositions.clear();
+                metrics.reset();
+                selector.selectItemAt(TARGET, true);
+            }
+        });
+        waitForTheScrollToSettle();
+
+        activityRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                assertThat(selector.getSelectedItem().getValue(), is("value" + TARGET));
+
+                // The page next to the target, its other neighbour with a ViewPager,
+                // the target and the page after it.
+                long binds = metrics.snapshot().getCount(SwipeMetrics.BIND);
+                assertThat("bound " + binds + " pages", binds <= 4, is(true));
+
+                // The text layouts are built ahead for two pages on each side.
+                for (int position : requestedPositions) {
+                    assertThat("asked for item " + position,
+                            position >= TARGET - 2 && position <= TARGET + 2, is(true));
+                }
+            }
+        });
+    }
+
+    private void waitForTheScrollToSettle() throws InterruptedException {
+        // A ViewPager takes at most 600 ms to settle, and the RecyclerView
+        // only scrolls by one page.
+        for (int i = 0; i < 50; i++) {
+            Thread.sleep(20);
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        }
+    }
+
+    /**
+     * Hands out the items on demand, remembering which ones were asked for.
+     */
+    private class RecordingSource implements SwipeItemSource {
+        @Override
+        public int getCount() {
+            return ITEM_COUNT;
+        }
+
+        @Override
+        public SwipeItem getItemAt(int position) {
+            requestedPositions.add(position);
+            return new SwipeItem("value" + position, "Title " + position, "Description " + position);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public class SwipeSelectorSearchTest {
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    private SwipeSelector selector;
+
+    @Before
+    public void setUp() throws Throwable {
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                selector = new SwipeSelector(InstrumentationRegistry.getTargetContext());
+            }
+        });
+    }
+
+    @Test
+    @UiThreadTest
+    public void itemsFromAListShouldBeSearchable() {
+        selector.setItems(
+                new SwipeItem("pizza", "Pizza", null),
+                new SwipeItem("burger", "Hamburger", null)
+        );
+
+        assertThat(selector.positionOfTitlePrefix("HAM"), is(1));
+        assertThat(selector.selectItemWithTitle("burg"), is(true));
+        assertThat(selector.getSelectedItem().getValue(), is("burger"));
+    }
+
+    @Test
+    @UiThreadTest
+    public void itemsFromACompactStoreShouldBeSearchable() {
+        selector.setItemSource(new CompactSwipeItemStore.Builder()
+                .add("pizza", "Pizza", null)
+                .add("burger", "Hamburger", null)
+                .build());
+
+        assertThat(selector.positionOfTitleContaining("zz"), is(0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @UiThreadTest
+    public void itemsFromOtherSourcesShouldNotBeSearchable() {
+        selector.setItemSource(new SwipeItemSource() {
+            @Override
+            public int getCount() {
+                return 50000;
+            }
+
+            @Override
+            public SwipeItem getItemAt(int position) {
+                return new SwipeItem("value" + position, "Title " + position, null);
+            }
+        });
+
+        selector.positionOfTitlePrefix("Title");
+    }
+}
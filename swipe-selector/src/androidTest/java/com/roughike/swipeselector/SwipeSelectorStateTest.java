@@ -0,0 +1,128 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.os.Parcelable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v4.view.ViewPager;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public class SwipeSelectorStateTest {
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    private Context context;
+    private Parcelable savedState;
+
+    @Before
+    public void setUp() throws Throwable {
+        context = InstrumentationRegistry.getContext();
+
+        uiThreadTestRule.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                SwipeSelector selector = new SwipeSelector(context);
+                selector.setSavesItemsInState(true);
+                selector.setItems(
+                        new SwipeItem("saved1", "Saved 1", null),
+                        new SwipeItem("saved2", "Saved 2", null)
+                );
+
+                savedState = selector.onSaveInstanceState();
+            }
+        });
+    }
+
+    @Test
+    @UiThreadTest
+    public void xmlItemsShouldBeParsedRightAwayWhenNotSaved() {
+        SwipeSelector selector = inflate(com.roughike.swipeselector.test.R.layout.swipe_selector_with_items);
+
+        assertThat(itemCountOf(selector), is(3));
+    }
+
+    @Test
+    @UiThreadTest
+    public void xmlItemsShouldWaitForTheSavedStateWithoutParsingWhileMeasuring() {
+        SwipeSelector selector = inflate(com.roughike.swipeselector.test.R.layout.swipe_selector_saving_items);
+        selector.measure(
+                View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED)
+        );
+
+        assertThat(itemCountOf(selector), is(0));
+
+        selector.onRestoreInstanceState(savedState);
+
+        assertThat(itemCountOf(selector), is(2));
+        assertThat(selector.getSelectedItem().getValue(), is("saved1"));
+    }
+
+    @Test
+    @UiThreadTest
+    public void xmlItemsShouldBeParsedWhenNeededWithoutSavedState() {
+        SwipeSelector selector = inflate(com.roughike.swipeselector.test.R.layout.swipe_selector_saving_items);
+
+        assertThat(selector.getSelectedItem().getValue(), is("pizza"));
+        assertThat(itemCountOf(selector), is(3));
+    }
+
+    @Test
+    @UiThreadTest
+    public void itemsSetInCodeShouldNotBeReplacedBySavedItems() {
+        SwipeSelector selector = new SwipeSelector(context);
+        selector.setItems(new SwipeItem("fresh", "Fresh", null));
+        selector.onRestoreInstanceState(savedState);
+
+        assertThat(itemCountOf(selector), is(1));
+        assertThat(selector.getSelectedItem().getValue(), is("fresh"));
+    }
+
+    @Test
+    @UiThreadTest
+    public void savedItemsShouldNotCancelLoadingItems() {
+        SwipeSelector selector = new SwipeSelector(context);
+        selector.loadItemsAsync(com.roughike.swipeselector.test.R.xml.swipe_items_harcoded, null);
+        selector.onRestoreInstanceState(savedState);
+
+        assertThat(selector.isLoadingItems(), is(true));
+        assertThat(itemCountOf(selector), is(0));
+    }
+
+    private SwipeSelector inflate(int layoutResource) {
+        return (SwipeSelector) LayoutInflater.from(context).inflate(layoutResource, null);
+    }
+
+    private static int itemCountOf(SwipeSelector selector) {
+        ViewPager pager = (ViewPager) selector.findViewById(R.id.swipeselector_layout_swipePager);
+        return pager.getAdapter().getCount();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public class SwipeStyleTest {
+    @Rule
+    public UiThreadTestRule uiThreadTestRule = new UiThreadTestRule();
+
+    @Test
+    @UiThreadTest
+    @SuppressWarnings("deprecation")
+    public void changedConfigurationsShouldGetTheirOwnStyles() {
+        Context context = InstrumentationRegistry.getTargetContext();
+        Resources resources = context.getResources();
+        Configuration original = new Configuration(resources.getConfiguration());
+
+        SwipeStyle style = SwipeStyle.obtain(context, null);
+        assertThat(SwipeStyle.obtain(context, null) == style, is(true));
+
+        try {
+            // The Resources change their configuration in place, like they would
+            // when the Activity handles a configuration change itself.
+            Configuration changed = new Configuration(original);
+            changed.fontScale = original.fontScale * 2;
+            resources.updateConfiguration(changed, resources.getDisplayMetrics());
+
+            assertThat(SwipeStyle.obtain(context, null) == style, is(false));
+        } finally {
+            resources.updateConfiguration(original, resources.getDisplayMetrics());
+        }
+
+        assertThat(SwipeStyle.obtain(context, null) == style, is(true));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.support.annotation.XmlRes;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Parses a swipe items XML resource on a background thread and hands the
+ * items back on the main thread.
+ *
+ * Loading can be paused when the SwipeSelector gets detached, in which case
+ * the parsing is cancelled and started again once the SwipeSelector is
+ * attached back. Everything except the parsing itself happens on the main thread.
+ */
+final class AsyncItemsLoader {
+    interface Callback {
+        void onItemsParsed(List<SwipeItem> items);
+    }
+
+    private final Context context;
+
+    private Future<?> pendingLoad;
+    private int itemsXmlResource;
+    private Callback callback;
+    private boolean paused;
+    private SwipeMetrics metrics;
+
+    // Results from loads that were cancelled or replaced are ignored.
+    private int generation;
+
+    AsyncItemsLoader(Context context) {
+        this.context = context;
+    }
+
+    void load(@XmlRes int itemsXmlResource, Callback callback) {
+        cancel();
+
+        this.itemsXmlResource = itemsXmlResource;
+        this.callback = callback;
+
+        if (!paused) {
+            start();
+        }
+    }
+
+    /**
+     * Stops the current load for good. Its items will never be delivered.
+     */
+    void cancel() {
+        generation++;
+        callback = null;
+
+        if (pendingLoad != null) {
+            pendingLoad.cancel(false);
+            pendingLoad = null;
+        }
+    }
+
+    /**
+     * Stops the current load, but remembers to start it again on {@link #resume()}.
+     */
+    void pause() {
+        paused = true;
+
+        if (pendingLoad != null) {
+            generation++;
+            pendingLoad.cancel(false);
+            pendingLoad = null;
+        }
+    }
+
+    void resume() {
+        paused = false;
+
+        if (callback != null && pendingLoad == null) {
+            start();
+        }
+    }
+
+    void setMetrics(SwipeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    boolean isLoading() {
+        return callback != null;
+    }
+
+    private void start() {
+        final int loadGeneration = ++generation;
+        final int xmlResource = itemsXmlResource;
+        final SwipeMetrics loadMetrics = metrics;
+
+        pendingLoad = SwipeExecutors.background().submit(new Runnable() {
+            @Override
+            public void run() {
+                final List<SwipeItem> items;
+
+                try {
+                    long start = loadMetrics != null ? System.nanoTime() : 0;
+                    items = SwipeItemsCache.get(context, xmlResource);
+
+                    if (loadMetrics != null) {
+                        loadMetrics.recordSince(SwipeMetrics.PARSE, start);
+                    }
+                } catch (final RuntimeException e) {
+                    // Crash on the main thread, just like a synchronous load would.
+                    SwipeExecutors.mainThread().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (loadGeneration == generation) {
+                                throw e;
+                            }
+                        }
+                    });
+                    return;
+                }
+
+                SwipeExecutors.mainThread().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        deliver(loadGeneration, items);
+                    }
+                });
+            }
+        });
+    }
+
+    private void deliver(int loadGeneration, List<SwipeItem> items) {
+        if (loadGeneration != generation || callback == null) {
+            return;
+        }
+
+        Callback finishedCallback = callback;
+        callback = null;
+        pendingLoad = null;
+
+        finishedCallback.onItemsParsed(items);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+/**
+ * A {@link SwipeItemSource} that can also load its items asynchronously.
+ *
+ * Pages for items that aren't loaded yet are shown empty until the item
+ * arrives. {@link #getItemAt(int)} is still used when an item is needed right
+ * away, for example for {@link SwipeSelector#getSelectedItem()}.
+ */
+public interface AsyncSwipeItemSource extends SwipeItemSource {
+    /**
+     * Start loading the item at the given position. Called on the main thread.
+     *
+     * @param position the position of the item to load.
+     * @param callback the callback to give the item to when it's loaded. Can be
+     *                 called from any thread.
+     */
+    void loadItemAt(int position, Callback callback);
+
+    interface Callback {
+        void onItemLoaded(int position, SwipeItem item);
+    }
+}
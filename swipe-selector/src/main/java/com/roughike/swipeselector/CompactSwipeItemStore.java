@@ -0,0 +1,200 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds a large number of items in a few arrays instead of a {@link SwipeItem}
+ * object for each one. Every distinct string is stored only once, so thousands of
+ * items sharing a description cost one String and an int per item.
+ *
+ * Give it to {@link SwipeSelector#setItemSource(SwipeItemSource)}. The SwipeItems
+ * are created when they're needed, and only the ones around the current selection
+ * are kept. Selecting by value doesn't need to create any items.
+ *
+ * Create one with a {@link Builder}. Once built, a store never changes, so it can
+ * be shared between threads and SwipeSelectors.
+ */
+public final class CompactSwipeItemStore implements SwipeItemSource {
+    private static final int NONE = -1;
+
+    private final String[] strings;
+    private final int[] values;
+    private final int[] titles;
+    private final int[] descriptions;
+
+    // For looking up values: the index of each string, and for each string index,
+    // the position of the first item with it as the value.
+    private final Map<String, Integer> stringIndexes;
+    private final int[] firstPositionOfString;
+    private final int firstPositionOfNull;
+
+    private CompactSwipeItemStore(String[] strings, int[] values, int[] titles,
+                                  int[] descriptions, Map<String, Integer> stringIndexes) {
+        this.strings = strings;
+        this.values = values;
+        this.titles = titles;
+        this.descriptions = descriptions;
+        this.stringIndexes = stringIndexes;
+
+        firstPositionOfString = new int[strings.length];
+        Arrays.fill(firstPositionOfString, -1);
+        int firstNull = -1;
+
+        for (int i = values.length - 1; i >= 0; i--) {
+            if (values[i] == NONE) {
+                firstNull = i;
+            } else {
+                firstPositionOfString[values[i]] = i;
+            }
+        }
+
+        firstPositionOfNull = firstNull;
+    }
+
+    @Override
+    public int getCount() {
+        return values.length;
+    }
+
+    @Override
+    public SwipeItem getItemAt(int position) {
+        return new SwipeItem(getValueAt(position), getTitleAt(position), getDescriptionAt(position));
+    }
+
+    public String getValueAt(int position) {
+        return stringAt(values[position]);
+    }
+
+    public String getTitleAt(int position) {
+        return stringAt(titles[position]);
+    }
+
+    public String getDescriptionAt(int position) {
+        return stringAt(descriptions[position]);
+    }
+
+    /**
+     * @return the position of the first item with the given value, or -1 if there's
+     * no such item.
+     */
+    public int positionOfValue(String value) {
+        if (value == null) {
+            return firstPositionOfNull;
+        }
+
+        Integer index = stringIndexes.get(value);
+        return index != null ? firstPositionOfString[index] : -1;
+    }
+
+    /**
+     * @return how many distinct strings the values, titles and descriptions have.
+     */
+    public int getDistinctStringCount() {
+        return strings.length;
+    }
+
+    private String stringAt(int index) {
+        return index == NONE ? null : strings[index];
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private int[] values;
+        private int[] titles;
+        private int[] descriptions;
+        private int count;
+
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * @param expectedCount how many items are going to be added, so the
+         *                      arrays don't need to grow along the way.
+         */
+        public Builder(int expectedCount) {
+            int capacity = Math.max(1, expectedCount);
+            values = new int[capacity];
+            titles = new int[capacity];
+            descriptions = new int[capacity];
+        }
+
+        /**
+         * Adds an item after the ones added so far.
+         *
+         * @param value the value of the item.
+         * @param title the title of the item.
+         * @param description the description of the item, can be null.
+         */
+        public Builder add(String value, String title, String description) {
+            if (count == values.length) {
+                int capacity = count * 2;
+                values = Arrays.copyOf(values, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+            }
+
+            values[count] = indexOf(value);
+            titles[count] = indexOf(title);
+            descriptions[count] = indexOf(description);
+            count++;
+            return this;
+        }
+
+        public Builder addAll(List<SwipeItem> items) {
+            for (SwipeItem item : items) {
+                add(item.getValue(), item.getTitle(), item.getDescription());
+            }
+
+            return this;
+        }
+
+        public CompactSwipeItemStore build() {
+            return new CompactSwipeItemStore(
+                    strings.toArray(new String[strings.size()]),
+                    Arrays.copyOf(values, count),
+                    Arrays.copyOf(titles, count),
+                    Arrays.copyOf(descriptions, count),
+                    new HashMap<>(stringIndexes));
+        }
+
+        private int indexOf(String string) {
+            if (string == null) {
+                return NONE;
+            }
+
+            Integer index = stringIndexes.get(string);
+
+            if (index == null) {
+                index = strings.size();
+                strings.add(string);
+                stringIndexes.put(string, index);
+            }
+
+            return index;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.support.annotation.XmlRes;
+import android.util.SparseArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Items compiled from swipe items XML resources at build time, so they can be created
+ * without parsing the XML. The tables are generated by the "swipe-items.gradle" build
+ * script, and registered by calling the generated SwipeItemTables.register() once,
+ * for example in Application.onCreate(). Items for XML resources without a registered
+ * table are parsed from the XML as usual.
+ */
+public final class CompiledSwipeItems {
+    private static final SparseArray<Table> tables = new SparseArray<>();
+
+    private CompiledSwipeItems() {
+    }
+
+    /**
+     * Register the items of one swipe items XML resource. This is meant to be called
+     * by the generated code only.
+     *
+     * @param itemsXmlResource the XML resource the items were compiled from.
+     * @param values the value of each item.
+     * @param titles the title of each item, or null where it comes from a string resource.
+     * @param descriptions the description of each item, or null where it comes from a
+     *                     string resource or there's no description.
+     * @param stringResources three string resources for each item, for the value, the
+     *                        title and the description, or 0 for the plain strings.
+     */
+    public static void register(@XmlRes int itemsXmlResource, String[] values, String[] titles,
+                                String[] descriptions, int[] stringResources) {
+        if (titles.length != values.length || descriptions.length != values.length
+                || stringResources.length != values.length * 3) {
+            throw new IllegalArgumentException("The compiled items for the resource "
+                    + itemsXmlResource + " don't match, regenerate them.");
+        }
+
+        synchronized (tables) {
+            tables.put(itemsXmlResource, new Table(values, titles, descriptions, stringResources));
+        }
+    }
+
+    /**
+     * @return true if there are compiled items for the XML resource.
+     */
+    public static boolean isCompiled(@XmlRes int itemsXmlResource) {
+        synchronized (tables) {
+            return tables.get(itemsXmlResource) != null;
+        }
+    }
+
+    /**
+     * Creates the items of a swipe items XML resource, from the compiled table if
+     * there is one, otherwise by parsing the XML. Safe to call on any thread.
+     */
+    static List<SwipeItem> load(Context context, @XmlRes int itemsXmlResource) {
+        Table table;
+
+        synchronized (tables) {
+            table = tables.get(itemsXmlResource);
+        }
+
+        if (table == null) {
+            return new SwipeItemParser(context, itemsXmlResource).parseItems();
+        }
+
+        return table.createItems(context);
+    }
+
+    private static final class Table {
+        final String[] values;
+        final String[] titles;
+        final String[] descriptions;
+        final int[] stringResources;
+
+        Table(String[] values, String[] titles, String[] descriptions, int[] stringResources) {
+            this.values = values;
+            this.titles = titles;
+            this.descriptions = descriptions;
+            this.stringResources = stringResources;
+        }
+
+        List<SwipeItem> createItems(Context context) {
+            List<SwipeItem> items = new ArrayList<>(values.length);
+
+            for (int i = 0; i < values.length; i++) {
+                int valueResource = stringResources[i * 3];
+                int titleResource = stringResources[i * 3 + 1];
+                int descriptionResource = stringResources[i * 3 + 2];
+
+                SwipeItem item = new SwipeItem();
+                // Values are looked up right away, just like when parsing the XML.
+                item.setValue(valueResource != 0 ? context.getString(valueResource) : values[i]);
+
+                if (titleResource != 0) {
+                    item.setTitleResource(context, titleResource);
+                } else {
+                    item.setTitle(titles[i]);
+                }
+
+                if (descriptionResource != 0) {
+                    item.setDescriptionResource(context, descriptionResource);
+                } else {
+                    item.setDescription(descriptions[i]);
+                }
+
+                items.add(item);
+            }
+
+            return items;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * Draws all the indicator circles in a single view, instead of having a
+ * separate ImageView for each item.
+ *
+ * When there are more items than fit the available width, only a window
+ * of indicators around the active one is drawn, and the indicators on the
+ * edges of the window are scaled down to hint that there's more to swipe.
+ *
+ * While swiping, the active indicator follows the scroll progress: it stretches
+ * towards the next indicator and then pulls its tail along. This happens on every
+ * frame of a swipe, so nothing in here allocates while drawing.
+ */
+public class IndicatorStripView extends View {
+    // How many indicators on each edge of the window get scaled down, and how much.
+    private static final float[] EDGE_SCALES = {0.5f, 0.75f};
+
+    private Drawable activeIndicator;
+    private Drawable inActiveIndicator;
+    private int indicatorSize;
+    private int indicatorMargin;
+
+    private int indicatorCount;
+    private int activePosition;
+
+    // Where the pager is scrolled to, in pages: the position on the left and
+    // how far it's scrolled towards the next one.
+    private int scrollPosition;
+    private float scrollOffset;
+
+    // Calculated in onMeasure: how many indicators fit the width we got.
+    private int visibleCount;
+
+    public IndicatorStripView(Context context) {
+        super(context);
+    }
+
+    public IndicatorStripView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    void setIndicators(Drawable activeIndicator, Drawable inActiveIndicator,
+                       int indicatorSize, int indicatorMargin) {
+        this.activeIndicator = activeIndicator;
+        this.inActiveIndicator = inActiveIndicator;
+        this.indicatorSize = indicatorSize;
+        this.indicatorMargin = indicatorMargin;
+
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Sets how many indicators to draw. Needs a new layout pass only if
+     * the count actually changes.
+     */
+    void setIndicatorCount(int indicatorCount) {
+        if (this.indicatorCount == indicatorCount) {
+            return;
+        }
+
+        this.indicatorCount = indicatorCount;
+
+        if (activePosition >= indicatorCount) {
+            activePosition = Math.max(0, indicatorCount - 1);
+        }
+
+        requestLayout();
+        invalidate();
+    }
+
+    int getIndicatorCount() {
+        return indicatorCount;
+    }
+
+    /**
+     * Moves the active indicator. Only redraws, the size of the view never changes here.
+     */
+    void setActivePosition(int activePosition) {
+        if (this.activePosition != activePosition) {
+            this.activePosition = activePosition;
+            invalidate();
+        }
+    }
+
+    /**
+     * Moves the active indicator along with the scrolling pager. Only redraws.
+     *
+     * @param position the position of the page on the left of the two being scrolled.
+     * @param offset how far the pager is scrolled towards the next page, from 0 to 1.
+     */
+    void setScrollProgress(int position, float offset) {
+        if (scrollPosition != position || scrollOffset != offset) {
+            scrollPosition = position;
+            scrollOffset = offset;
+            invalidate();
+        }
+    }
+
+    int getActivePosition() {
+        return activePosition;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int horizontalPadding = getPaddingLeft() + getPaddingRight();
+        int step = indicatorSize + indicatorMargin;
+        int desiredWidth = horizontalPadding + indicatorCount * step;
+        int desiredHeight = getPaddingTop() + getPaddingBottom() + indicatorSize;
+
+        int width = resolveSize(desiredWidth, widthMeasureSpec);
+        int height = resolveSize(desiredHeight, heightMeasureSpec);
+
+        if (step > 0 && width < desiredWidth) {
+            visibleCount = Math.max(1, (width - horizontalPadding) / step);
+        } else {
+            visibleCount = indicatorCount;
+        }
+
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (indicatorCount == 0 || activeIndicator == null || inActiveIndicator == null) {
+            return;
+        }
+
+        int step = indicatorSize + indicatorMargin;
+        int top = getPaddingTop();
+        int windowSize = Math.min(visibleCount, indicatorCount);
+        int windowStart = getWindowStart(windowSize);
+        boolean windowed = windowSize < indicatorCount;
+
+        for (int i = 0; i < windowSize; i++) {
+            int position = windowStart + i;
+            int left = getPaddingLeft() + indicatorMargin + i * step;
+            float scale = windowed && position != activePosition
+                    ? getEdgeScale(i, windowSize, windowStart)
+                    : 1f;
+            int inset = Math.round(indicatorSize * (1f - scale) / 2f);
+
+            inActiveIndicator.setBounds(left + inset, top + inset,
+                    left + indicatorSize - inset, top + indicatorSize - inset);
+            inActiveIndicator.draw(canvas);
+        }
+
+        drawActiveIndicator(canvas, windowStart, step, top);
+    }
+
+    /**
+     * Draws the active indicator where the pager is scrolled to. For the first half
+     * of the way to the next indicator the front edge stretches there, and for the
+     * second half the back edge follows.
+     */
+    private void drawActiveIndicator(Canvas canvas, int windowStart, int step, int top) {
+        float progress = scrollPosition + scrollOffset;
+
+        // The scroll progress lags behind when the active position was set
+        // without scrolling, so it only counts when it's next to it.
+        if (Math.abs(progress - activePosition) >= 1f) {
+            progress = activePosition;
+        }
+
+        int position = (int) progress;
+        float fraction = progress - position;
+        int left = getPaddingLeft() + indicatorMargin + (position - windowStart) * step;
+
+        int stretchedLeft = left + Math.round(step * Math.max(0f, fraction * 2f - 1f));
+        int stretchedRight = left + indicatorSize + Math.round(step * Math.min(1f, fraction * 2f));
+
+        activeIndicator.setBounds(stretchedLeft, top, stretchedRight, top + indicatorSize);
+        activeIndicator.draw(canvas);
+    }
+
+    /**
+     * Keeps the active indicator in the middle of the window whenever possible.
+     */
+    private int getWindowStart(int windowSize) {
+        int start = activePosition - windowSize / 2;
+        return Math.max(0, Math.min(start, indicatorCount - windowSize));
+    }
+
+    /**
+     * Indicators on an edge of the window get smaller, but only if there are
+     * more indicators hiding beyond that edge.
+     */
+    private float getEdgeScale(int indexInWindow, int windowSize, int windowStart) {
+        int fromStart = indexInWindow;
+        int fromEnd = windowSize - 1 - indexInWindow;
+
+        if (windowStart > 0 && fromStart < EDGE_SCALES.length) {
+            return EDGE_SCALES[fromStart];
+        }
+
+        if (windowStart + windowSize < indicatorCount && fromEnd < EDGE_SCALES.length) {
+            return EDGE_SCALES[fromEnd];
+        }
+
+        return 1f;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.support.v4.util.LruCache;
+import android.util.SparseBooleanArray;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The items {@link SwipeAdapter} shows, backed either by a list or by a
+ * {@link SwipeItemSource}.
+ *
+ * Items from a source are materialized only when asked for, and a small LRU
+ * keeps the recently used ones, which in practice are the ones around the
+ * current position. Only used from the main thread.
+ */
+final class ItemWindow {
+    static final int DEFAULT_CACHE_SIZE = 32;
+    static final ItemWindow EMPTY = new ItemWindow(Collections.<SwipeItem>emptyList());
+
+    interface OnItemLoadedListener {
+        void onItemLoaded(int position);
+    }
+
+    private final List<SwipeItem> list;
+    private final SwipeItemSource source;
+    private final int count;
+
+    private final LruCache<Integer, SwipeItem> cache;
+    private final SparseBooleanArray pendingLoads;
+    private final OnItemLoadedListener onItemLoadedListener;
+    private boolean released;
+
+    ItemWindow(List<SwipeItem> list) {
+        this.list = list;
+        source = null;
+        count = list.size();
+        cache = null;
+        pendingLoads = null;
+        onItemLoadedListener = null;
+    }
+
+    ItemWindow(SwipeItemSource source, int cacheSize, OnItemLoadedListener onItemLoadedListener) {
+        list = null;
+        this.source = source;
+        count = source.getCount();
+        cache = new LruCache<>(cacheSize);
+        pendingLoads = new SparseBooleanArray();
+        this.onItemLoadedListener = onItemLoadedListener;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * @return a new window over the same list or source, for when its
+     * contents have changed. The old window should be released.
+     */
+    ItemWindow reload() {
+        if (list != null) {
+            return new ItemWindow(list);
+        }
+
+        return new ItemWindow(source, cache.maxSize(), onItemLoadedListener);
+    }
+
+    /**
+     * @return the source of the items, or null if they come from a list.
+     */
+    SwipeItemSource getSource() {
+        return source;
+    }
+
+    /**
+     * @return the backing list, or null if the items come from a {@link SwipeItemSource}.
+     */
+    List<SwipeItem> asList() {
+        return list;
+    }
+
+    /**
+     * Gets an item right away, creating it if needed.
+     */
+    SwipeItem get(int position) {
+        if (list != null) {
+            return list.get(position);
+        }
+
+        SwipeItem item = cache.get(position);
+
+        if (item == null) {
+            item = source.getItemAt(position);
+            cache.put(position, item);
+        }
+
+        return item;
+    }
+
+    /**
+     * Gets an item without waiting for an asynchronous source. If the item isn't
+     * loaded yet, starts loading it and returns null.
+     */
+    SwipeItem peek(int position) {
+        if (!(source instanceof AsyncSwipeItemSource)) {
+            return get(position);
+        }
+
+        SwipeItem item = cache.get(position);
+
+        if (item == null && !pendingLoads.get(position)) {
+            pendingLoads.put(position, true);
+            ((AsyncSwipeItemSource) source).loadItemAt(position, new AsyncSwipeItemSource.Callback() {
+                @Override
+                public void onItemLoaded(final int loadedPosition, final SwipeItem loadedItem) {
+                    SwipeExecutors.mainThread().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            deliver(loadedPosition, loadedItem);
+                        }
+                    });
+                }
+            });
+        }
+
+        return item;
+    }
+
+    /**
+     * Stops delivering asynchronously loaded items, once these items aren't shown anymore.
+     */
+    void release() {
+        released = true;
+    }
+
+    private void deliver(int position, SwipeItem item) {
+        if (released) {
+            return;
+        }
+
+        pendingLoads.delete(position);
+        cache.put(position, item);
+
+        if (onItemLoadedListener != null) {
+            onItemLoadedListener.onItemLoaded(position);
+        }
+    }
+}
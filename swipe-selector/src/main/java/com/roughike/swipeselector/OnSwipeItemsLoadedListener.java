@@ -0,0 +1,31 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import java.util.List;
+
+public interface OnSwipeItemsLoadedListener {
+    /**
+     * The method being called on the main thread when the items of a
+     * {@link SwipeSelector} have been loaded asynchronously and are now showing.
+     *
+     * @param items the loaded {@link SwipeItem}s, including the unselected state
+     * item if the SwipeSelector has one.
+     */
+    void onItemsLoaded(List<SwipeItem> items);
+}
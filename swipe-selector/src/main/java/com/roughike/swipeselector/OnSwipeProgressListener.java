@@ -0,0 +1,33 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+public interface OnSwipeProgressListener {
+    /**
+     * The method being called on the main thread on every frame while the
+     * items of a {@link SwipeSelector} are being swiped, so it's the place for
+     * driving animations along with the swipe. Keep it quick, and don't allocate
+     * anything in here.
+     *
+     * @param position the position of the item on the left of the two being
+     *                 swiped between.
+     * @param positionOffset how far the swipe is from that item towards the next
+     *                       one, from 0 up to, but not including, 1.
+     */
+    void onSwipeProgress(int position, float positionOffset);
+}
@@ -0,0 +1,71 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.graphics.Typeface;
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * Holds the views of a single page so they can be rebound without
+ * inflating the layout or calling findViewById again. Also remembers
+ * what was bound the last time, so rebinding only touches what changed.
+ *
+ * A page is either the regular layout with two TextViews, or a single
+ * {@link SwipeItemView}, in which case the TextViews are null.
+ */
+final class PageViewHolder {
+    final View itemView;
+    final TextView title;
+    final TextView description;
+    final SwipeItemView itemRenderer;
+
+    SwipeItem boundItem;
+    int boundPosition = -1;
+
+    CharSequence boundTitle;
+    CharSequence boundDescription;
+    int boundDescriptionVisibility = View.VISIBLE;
+
+    Typeface appliedTypeface;
+    int appliedTitleTextAppearance = -1;
+    int appliedDescriptionTextAppearance = -1;
+    int appliedDescriptionGravity = -1;
+
+    // From the layout, for pages going to a SwipeSelector without a custom gravity.
+    final int originalDescriptionGravity;
+
+    PageViewHolder(View itemView) {
+        this.itemView = itemView;
+        title = (TextView) itemView.findViewById(R.id.swipeselector_content_title);
+        description = (TextView) itemView.findViewById(R.id.swipeselector_content_description);
+        itemRenderer = itemView instanceof SwipeItemView ? (SwipeItemView) itemView : null;
+        originalDescriptionGravity = description != null ? description.getGravity() : 0;
+
+        itemView.setTag(this);
+    }
+
+    /**
+     * @param view a page view created by {@link PageViewPool}
+     * @return the holder attached to the page, or null if the view isn't a page.
+     */
+    static PageViewHolder from(View view) {
+        Object tag = view.getTag();
+        return tag instanceof PageViewHolder ? (PageViewHolder) tag : null;
+    }
+}
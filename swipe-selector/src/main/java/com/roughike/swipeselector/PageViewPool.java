@@ -0,0 +1,233 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.WeakHashMap;
+
+/**
+ * A bounded pool of page views for {@link SwipeAdapter}. Pages that scroll
+ * out of the offscreen window get released here and handed out again for the
+ * next page, so swiping doesn't inflate the item layout over and over again.
+ *
+ * Each adapter gets its own pool by default. A shared pool per Context can be
+ * used instead, so that all the SwipeSelectors on the same screen reuse the
+ * same views. Only used from the main thread.
+ *
+ * A pool holds either regular pages or flattened {@link SwipeItemView} pages,
+ * never both.
+ *
+ * The pool can also be filled ahead of time with pages inflated on a background
+ * thread, so that even the first pages of a new SwipeSelector don't have to be
+ * inflated on the main thread.
+ */
+final class PageViewPool {
+    static final int DEFAULT_MAX_SIZE = 6;
+
+    // The pools only hold weak references here: the adapters using a pool keep it alive,
+    // and once they're gone, both the pool and the Context can be collected.
+    private static final WeakHashMap<Context, WeakReference<PageViewPool>> sharedPools =
+            new WeakHashMap<>();
+    private static final WeakHashMap<Context, WeakReference<PageViewPool>> sharedFlattenedPools =
+            new WeakHashMap<>();
+
+    private final Context context;
+    private final int maxSize;
+    private final boolean flattened;
+    private final List<PageViewHolder> scrapHolders;
+
+    private int inflationCount;
+    private int preinflationCount;
+    private int pendingPreinflations;
+
+    PageViewPool(Context context) {
+        this(context, DEFAULT_MAX_SIZE);
+    }
+
+    PageViewPool(Context context, int maxSize) {
+        this(context, maxSize, false);
+    }
+
+    /**
+     * @param flattened true for a pool of {@link SwipeItemView} pages.
+     */
+    PageViewPool(Context context, int maxSize, boolean flattened) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximum size for the pool can't be negative.");
+        }
+
+        this.context = context;
+        this.maxSize = maxSize;
+        this.flattened = flattened;
+        scrapHolders = new ArrayList<>(maxSize);
+    }
+
+    /**
+     * @param context the Context the page views are inflated with
+     * @return a pool shared by everyone else asking for a pool for the same Context.
+     */
+    static PageViewPool shared(Context context) {
+        return shared(context, false);
+    }
+
+    /**
+     * @param flattened true for a pool of {@link SwipeItemView} pages.
+     */
+    static PageViewPool shared(Context context, boolean flattened) {
+        WeakHashMap<Context, WeakReference<PageViewPool>> pools =
+                flattened ? sharedFlattenedPools : sharedPools;
+        WeakReference<PageViewPool> reference = pools.get(context);
+        PageViewPool pool = reference != null ? reference.get() : null;
+
+        if (pool == null) {
+            pool = new PageViewPool(context, DEFAULT_MAX_SIZE, flattened);
+            pools.put(context, new WeakReference<>(pool));
+        }
+
+        return pool;
+    }
+
+    boolean isFlattened() {
+        return flattened;
+    }
+
+    /**
+     * Gets a recycled page from the pool, or inflates a new one if the pool is empty.
+     *
+     * @return a page that isn't attached to any parent.
+     */
+    PageViewHolder acquire() {
+        int size = scrapHolders.size();
+
+        if (size > 0) {
+            return scrapHolders.remove(size - 1);
+        }
+
+        inflationCount++;
+
+        if (flattened) {
+            return new PageViewHolder(new SwipeItemView(context));
+        }
+
+        return new PageViewHolder(View.inflate(context, R.layout.swipeselector_content_item, null));
+    }
+
+    /**
+     * Puts a page back to the pool. The page should already be removed from its parent.
+     * If the pool is full, the page is just dropped.
+     *
+     * @param holder the page to recycle.
+     */
+    void release(PageViewHolder holder) {
+        if (scrapHolders.size() < maxSize && !scrapHolders.contains(holder)) {
+            holder.boundItem = null;
+            holder.boundPosition = -1;
+            scrapHolders.add(holder);
+        }
+    }
+
+    /**
+     * Starts inflating pages on a background thread until the pool has the given
+     * number of pages. The pages join the pool on the main thread as they get ready,
+     * and pages already on their way count towards the number.
+     *
+     * @param count how many pages the pool should have, at most its maximum size.
+     */
+    void preinflate(int count) {
+        final int needed = Math.min(count, maxSize) - scrapHolders.size() - pendingPreinflations;
+
+        if (needed <= 0) {
+            return;
+        }
+
+        pendingPreinflations += needed;
+
+        // LayoutInflaters aren't thread safe, so the background thread gets one of its own.
+        final LayoutInflater inflater = LayoutInflater.from(context).cloneInContext(context);
+
+        SwipeExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < needed; i++) {
+                    View page;
+
+                    try {
+                        page = flattened
+                                ? new SwipeItemView(context)
+                                : inflater.inflate(R.layout.swipeselector_content_item, null, false);
+                    } catch (RuntimeException e) {
+                        // Something in the layout, like a custom LayoutInflater factory,
+                        // insists on the main thread. The page gets inflated there when needed.
+                        page = null;
+                    }
+
+                    final View inflatedPage = page;
+
+                    SwipeExecutors.mainThread().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            onPreinflated(inflatedPage);
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    private void onPreinflated(View page) {
+        pendingPreinflations--;
+
+        if (page == null) {
+            return;
+        }
+
+        preinflationCount++;
+
+        if (scrapHolders.size() < maxSize) {
+            scrapHolders.add(new PageViewHolder(page));
+        }
+    }
+
+    void clear() {
+        scrapHolders.clear();
+    }
+
+    int getScrapCount() {
+        return scrapHolders.size();
+    }
+
+    /**
+     * @return how many page views this pool has inflated on the main thread.
+     */
+    int getInflationCount() {
+        return inflationCount;
+    }
+
+    /**
+     * @return how many page views this pool has inflated in the background.
+     */
+    int getPreinflationCount() {
+        return preinflationCount;
+    }
+}
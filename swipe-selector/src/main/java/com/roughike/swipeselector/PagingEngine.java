@@ -0,0 +1,66 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.support.v4.view.ViewPager;
+import android.view.ViewGroup;
+
+/**
+ * The view that pages through the items of a {@link SwipeAdapter}. There's one
+ * backed by a ViewPager, and one backed by a RecyclerView.
+ *
+ * Whatever the implementation, it reports scrolling and page selections through
+ * ViewPager's {@link ViewPager.OnPageChangeListener}, with the same semantics, so
+ * the adapter doesn't need to know which one it's using.
+ */
+interface PagingEngine {
+    int VIEW_PAGER = 0;
+    int RECYCLER_VIEW = 1;
+
+    /**
+     * @return the view that contains the pages as its direct children.
+     */
+    ViewGroup getView();
+
+    /**
+     * Starts showing the pages of the adapter.
+     */
+    void attach(SwipeAdapter adapter);
+
+    void addOnPageChangeListener(ViewPager.OnPageChangeListener listener);
+
+    void setCurrentItem(int position, boolean smoothScroll);
+
+    int getCurrentItem();
+
+    /**
+     * @return how many pages on each side of the current one are kept ready.
+     */
+    int getOffscreenPageLimit();
+
+    /**
+     * Called when all the items were replaced and none of the pages are valid anymore.
+     */
+    void onItemsReset();
+
+    /**
+     * Called when the items were updated, and the pages should follow their items to
+     * the new positions.
+     */
+    void onItemsUpdated(SwipeItemDiff.Result update);
+}
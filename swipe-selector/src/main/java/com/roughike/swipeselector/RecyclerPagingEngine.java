@@ -0,0 +1,602 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.support.v4.view.ViewPager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pages with a horizontal RecyclerView, one full width page at a time. Pages are
+ * recycled through a RecycledViewPool, which can be shared between selectors, and
+ * the pages next to the current one are laid out ahead of time.
+ *
+ * Scrolling is translated to the same callbacks a ViewPager would make, so a fling
+ * moves exactly one page and a drag that's let go settles on the nearest page.
+ */
+final class RecyclerPagingEngine implements PagingEngine {
+    // Pages are laid out this many page widths past the visible one, the same
+    // amount a ViewPager keeps around with its default offscreen page limit.
+    private static final int OFFSCREEN_PAGE_LIMIT = 1;
+
+    // Every move shifts the pages in between, so past this many moves it's cheaper
+    // to rebind the few pages that are laid out than to work out all the moves.
+    private static final int MAX_MOVES = 64;
+
+    private final PagingRecyclerView recyclerView;
+    private final PagingLayoutManager layoutManager;
+    private final List<ViewPager.OnPageChangeListener> listeners = new ArrayList<>();
+
+    private PageAdapter pageAdapter;
+    private SwipeAdapter adapter;
+    private int currentItem;
+    private int dispatchedScrollState = ViewPager.SCROLL_STATE_IDLE;
+
+    // A smooth scroll that waits for the jump right before it to be laid out.
+    private int pendingSmoothScroll = RecyclerView.NO_POSITION;
+
+    RecyclerPagingEngine(Context context) {
+        recyclerView = new PagingRecyclerView(context, this);
+        layoutManager = new PagingLayoutManager(context);
+
+        recyclerView.setLayoutManager(layoutManager);
+        // Changed pages are rebound in place, the default cross-fade would only
+        // make the text flicker.
+        recyclerView.setItemAnimator(null);
+        recyclerView.setOverScrollMode(View.OVER_SCROLL_NEVER);
+        recyclerView.addOnScrollListener(new PageScrollListener());
+    }
+
+    void setRecycledViewPool(RecyclerView.RecycledViewPool pool) {
+        recyclerView.setRecycledViewPool(pool);
+    }
+
+    RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return recyclerView.getRecycledViewPool();
+    }
+
+    @Override
+    public ViewGroup getView() {
+        return recyclerView;
+    }
+
+    @Override
+    public void attach(SwipeAdapter adapter) {
+        this.adapter = adapter;
+        pageAdapter = new PageAdapter(adapter);
+        recyclerView.setAdapter(pageAdapter);
+    }
+
+    @Override
+    public void addOnPageChangeListener(ViewPager.OnPageChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void setCurrentItem(int position, boolean smoothScroll) {
+        if (smoothScroll) {
+            // The RecyclerView only reports settling once the scroll gets going,
+            // but a ViewPager does it before the page gets selected.
+            if (position != currentItem) {
+                dispatchScrollStateChanged(ViewPager.SCROLL_STATE_SETTLING);
+            }
+
+            if (recyclerView.isLayoutRequested()) {
+                // A jump right before this hasn't been laid out yet, and scrolling
+                // now would start from the page before the jump, binding every page
+                // in between. So the scroll starts once the jump is laid out.
+                pendingSmoothScroll = position;
+            } else {
+                recyclerView.smoothScrollToPosition(position);
+            }
+        } else {
+            pendingSmoothScroll = RecyclerView.NO_POSITION;
+            recyclerView.stopScroll();
+            layoutManager.scrollToPositionWithOffset(position, 0);
+        }
+
+        selectPage(position);
+    }
+
+    @Override
+    public int getCurrentItem() {
+        return currentItem;
+    }
+
+    @Override
+    public int getOffscreenPageLimit() {
+        return OFFSCREEN_PAGE_LIMIT;
+    }
+
+    @Override
+    public void onItemsReset() {
+        currentItem = 0;
+        pendingSmoothScroll = RecyclerView.NO_POSITION;
+
+        if (pageAdapter != null) {
+            pageAdapter.notifyDataSetChanged();
+        }
+    }
+
+    @Override
+    public void onItemsUpdated(SwipeItemDiff.Result update) {
+        if (pageAdapter == null) return;
+
+        // The RecyclerView gets told about each removal, move, insertion and change,
+        // so the pages follow their items and only the changed ones get rebound.
+        int[] survivors = survivingNewPositions(update);
+        boolean[] staying = longestIncreasingRun(survivors);
+        int moveCount = 0;
+
+        for (boolean stays : staying) {
+            if (!stays) moveCount++;
+        }
+
+        if (moveCount > MAX_MOVES) {
+            followToNewPositions(update, null);
+            pageAdapter.notifyDataSetChanged();
+            return;
+        }
+
+        boolean[] rebind = new boolean[update.getNewCount()];
+        followToNewPositions(update, rebind);
+
+        notifyRemovals(update);
+        notifyMoves(survivors, staying, update.getNewCount());
+        notifyInsertionsAndChanges(update, survivors, rebind);
+    }
+
+    /**
+     * Gives the laid out pages the positions of their items after the update. The
+     * ones that are only showing a placeholder for an item that wasn't loaded yet
+     * get marked for rebinding.
+     */
+    private void followToNewPositions(SwipeItemDiff.Result update, boolean[] rebind) {
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            PageViewHolder page = PageViewHolder.from(recyclerView.getChildAt(i));
+
+            if (page == null) continue;
+
+            int newPosition = update.getNewPosition(page.boundPosition);
+
+            if (newPosition == SwipeItemDiff.REMOVED) continue;
+
+            page.boundPosition = newPosition;
+
+            if (rebind != null && adapter.isShowingPlaceholder(page)) {
+                rebind[newPosition] = true;
+            }
+        }
+    }
+
+    /**
+     * @return the new positions of the items that weren't removed, in their old order.
+     */
+    private static int[] survivingNewPositions(SwipeItemDiff.Result update) {
+        int count = 0;
+
+        for (int i = 0; i < update.getOldCount(); i++) {
+            if (update.getNewPosition(i) != SwipeItemDiff.REMOVED) count++;
+        }
+
+        int[] survivors = new int[count];
+        int index = 0;
+
+        for (int i = 0; i < update.getOldCount(); i++) {
+            int newPosition = update.getNewPosition(i);
+
+            if (newPosition != SwipeItemDiff.REMOVED) {
+                survivors[index++] = newPosition;
+            }
+        }
+
+        return survivors;
+    }
+
+    /**
+     * Finds the longest run of positions that are already in increasing order, the
+     * pages that can stay where they are while the others move around them.
+     */
+    private static boolean[] longestIncreasingRun(int[] positions) {
+        // The index of the smallest possible last position of a run of each length,
+        // and the index of the position before each one in its run.
+        int[] tails = new int[positions.length];
+        int[] previous = new int[positions.length];
+        int length = 0;
+
+        for (int i = 0; i < positions.length; i++) {
+            int low = 0;
+            int high = length;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (positions[tails[middle]] < positions[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+
+            if (low == length) length++;
+        }
+
+        boolean[] staying = new boolean[positions.length];
+
+        for (int i = length > 0 ? tails[length - 1] : -1; i != -1; i = previous[i]) {
+            staying[i] = true;
+        }
+
+        return staying;
+    }
+
+    private void notifyRemovals(SwipeItemDiff.Result update) {
+        // From the end, so the positions still to come aren't shifted.
+        int position = update.getOldCount() - 1;
+
+        while (position >= 0) {
+            if (update.getNewPosition(position) != SwipeItemDiff.REMOVED) {
+                position--;
+                continue;
+            }
+
+            int last = position;
+
+            while (position >= 0 && update.getNewPosition(position) == SwipeItemDiff.REMOVED) {
+                position--;
+            }
+
+            pageAdapter.notifyItemRangeRemoved(position + 1, last - position);
+        }
+    }
+
+    /**
+     * Moves the pages that aren't in the increasing run next to the ones already in
+     * place, smallest new position first, until the pages are in their new order.
+     */
+    private void notifyMoves(int[] survivors, boolean[] staying, int newCount) {
+        boolean[] inPlace = new boolean[newCount];
+        int[] moving = new int[survivors.length];
+        int moveCount = 0;
+
+        for (int i = 0; i < survivors.length; i++) {
+            if (staying[i]) {
+                inPlace[survivors[i]] = true;
+            } else {
+                moving[moveCount++] = survivors[i];
+            }
+        }
+
+        if (moveCount == 0) return;
+
+        Arrays.sort(moving, 0, moveCount);
+        int[] pages = survivors.clone();
+
+        for (int m = 0; m < moveCount; m++) {
+            int newPosition = moving[m];
+            int from = 0;
+
+            while (pages[from] != newPosition) from++;
+
+            System.arraycopy(pages, from + 1, pages, from, pages.length - from - 1);
+
+            int to = 0;
+
+            for (int i = 0; i < pages.length - 1; i++) {
+                if (inPlace[pages[i]] && pages[i] < newPosition) to = i + 1;
+            }
+
+            System.arraycopy(pages, to, pages, to + 1, pages.length - to - 1);
+            pages[to] = newPosition;
+            inPlace[newPosition] = true;
+
+            pageAdapter.notifyItemMoved(from, to);
+        }
+    }
+
+    /**
+     * With the remaining pages in their new order, the positions nobody has yet are
+     * the inserted items, and everything before a position is already where it
+     * belongs when getting to it.
+     */
+    private void notifyInsertionsAndChanges(SwipeItemDiff.Result update, int[] survivors,
+                                            boolean[] rebind) {
+        int newCount = update.getNewCount();
+        boolean[] kept = new boolean[newCount];
+
+        for (int survivor : survivors) {
+            kept[survivor] = true;
+        }
+
+        int position = 0;
+
+        while (position < newCount) {
+            int start = position;
+
+            while (position < newCount && !kept[position]) position++;
+
+            if (position > start) {
+                pageAdapter.notifyItemRangeInserted(start, position - start);
+            } else {
+                position++;
+            }
+        }
+
+        // New pages get bound anyway, only the kept ones need to be told they changed.
+        position = 0;
+
+        while (position < newCount) {
+            int start = position;
+
+            while (position < newCount && kept[position]
+                    && (update.isChanged(position) || rebind[position])) {
+                position++;
+            }
+
+            if (position > start) {
+                pageAdapter.notifyItemRangeChanged(start, position - start);
+            } else {
+                position++;
+            }
+        }
+    }
+
+    private void onPagerMeasured(int width) {
+        if (adapter != null) {
+            adapter.onPagerMeasured(width);
+        }
+    }
+
+    private void onPagesLaidOut() {
+        if (pendingSmoothScroll == RecyclerView.NO_POSITION) return;
+
+        int position = pendingSmoothScroll;
+        pendingSmoothScroll = RecyclerView.NO_POSITION;
+
+        if (pageAdapter != null && position < pageAdapter.getItemCount()) {
+            recyclerView.smoothScrollToPosition(position);
+        }
+    }
+
+    private SwipeMetrics getMetrics() {
+        return adapter != null ? adapter.getMetrics() : null;
+    }
+
+    /**
+     * Called when the user lets go with enough velocity. Moves exactly one page in
+     * the direction of the fling, counting from the page that's partly scrolled out.
+     */
+    private boolean flingToPage(int velocityX) {
+        int firstVisible = layoutManager.findFirstVisibleItemPosition();
+
+        if (firstVisible == RecyclerView.NO_POSITION) {
+            return false;
+        }
+
+        int target = velocityX > 0 ? firstVisible + 1 : firstVisible;
+        target = Math.max(0, Math.min(target, pageAdapter.getItemCount() - 1));
+
+        scrollToPage(target);
+        return true;
+    }
+
+    private void settleOnNearestPage() {
+        int firstVisible = layoutManager.findFirstVisibleItemPosition();
+        View page = layoutManager.findViewByPosition(firstVisible);
+
+        if (page == null) return;
+
+        int target = -page.getLeft() > page.getWidth() / 2 ? firstVisible + 1 : firstVisible;
+        target = Math.min(target, pageAdapter.getItemCount() - 1);
+
+        scrollToPage(target);
+    }
+
+    private void scrollToPage(int position) {
+        View page = layoutManager.findViewByPosition(position);
+
+        if (page != null) {
+            recyclerView.smoothScrollBy(page.getLeft(), 0);
+        } else {
+            recyclerView.smoothScrollToPosition(position);
+        }
+
+        selectPage(position);
+    }
+
+    private boolean isSettled() {
+        View page = layoutManager.findViewByPosition(currentItem);
+        return page == null || page.getLeft() == 0;
+    }
+
+    private void selectPage(int position) {
+        if (position == currentItem) return;
+        currentItem = position;
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onPageSelected(position);
+        }
+    }
+
+    private void dispatchScrollStateChanged(int state) {
+        if (state == dispatchedScrollState) return;
+        dispatchedScrollState = state;
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onPageScrollStateChanged(state);
+        }
+    }
+
+    private class PageScrollListener extends RecyclerView.OnScrollListener {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                if (!isSettled() || dispatchedScrollState == ViewPager.SCROLL_STATE_DRAGGING) {
+                    // Let go between pages without a fling. A ViewPager would
+                    // settle on the nearest page before calling it idle.
+                    settleOnNearestPage();
+
+                    if (!isSettled()) {
+                        dispatchScrollStateChanged(ViewPager.SCROLL_STATE_SETTLING);
+                        return;
+                    }
+                }
+
+                dispatchScrollStateChanged(ViewPager.SCROLL_STATE_IDLE);
+            } else if (newState == RecyclerView.SCROLL_STATE_DRAGGING) {
+                dispatchScrollStateChanged(ViewPager.SCROLL_STATE_DRAGGING);
+            } else {
+                dispatchScrollStateChanged(ViewPager.SCROLL_STATE_SETTLING);
+            }
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            int firstVisible = layoutManager.findFirstVisibleItemPosition();
+            View page = layoutManager.findViewByPosition(firstVisible);
+
+            if (page == null) return;
+
+            int offsetPixels = -page.getLeft();
+            float offset = page.getWidth() > 0 ? offsetPixels / (float) page.getWidth() : 0f;
+
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onPageScrolled(firstVisible, offset, offsetPixels);
+            }
+        }
+    }
+
+    /**
+     * Turns the pages of a {@link SwipeAdapter} into RecyclerView items. The pages
+     * are created and bound by the SwipeAdapter, just like with a ViewPager.
+     */
+    private static class PageAdapter extends RecyclerView.Adapter<PageHolder> {
+        private final SwipeAdapter adapter;
+
+        PageAdapter(SwipeAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public PageHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            PageViewHolder page = adapter.createPage();
+            page.itemView.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            return new PageHolder(page);
+        }
+
+        @Override
+        public void onBindViewHolder(PageHolder holder, int position) {
+            SwipeMetrics metrics = adapter.getMetrics();
+            long start = metrics != null ? System.nanoTime() : 0;
+
+            adapter.bindPage(holder.page, position);
+
+            if (metrics != null) {
+                metrics.recordSince(SwipeMetrics.BIND, start);
+            }
+        }
+
+        @Override
+        public void onViewAttachedToWindow(PageHolder holder) {
+            // Pages coming back from the cache aren't rebound, but updates may have
+            // moved them to another position while they were away.
+            holder.page.boundPosition = holder.getLayoutPosition();
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            // Keeps the two kinds of pages apart in a shared RecycledViewPool.
+            return adapter.usesFlattenedPages() ? 1 : 0;
+        }
+
+        @Override
+        public int getItemCount() {
+            return adapter.getCount();
+        }
+    }
+
+    private static class PageHolder extends RecyclerView.ViewHolder {
+        final PageViewHolder page;
+
+        PageHolder(PageViewHolder page) {
+            super(page.itemView);
+            this.page = page;
+        }
+    }
+
+    private static class PagingLayoutManager extends LinearLayoutManager {
+        PagingLayoutManager(Context context) {
+            super(context, HORIZONTAL, false);
+        }
+
+        @Override
+        protected int getExtraLayoutSpace(RecyclerView.State state) {
+            // Lays out the next page before it scrolls in, instead of binding
+            // it in the middle of the frame where it first becomes visible.
+            return getWidth() * OFFSCREEN_PAGE_LIMIT;
+        }
+    }
+
+    private static class PagingRecyclerView extends RecyclerView {
+        private final RecyclerPagingEngine engine;
+
+        PagingRecyclerView(Context context, RecyclerPagingEngine engine) {
+            super(context);
+            this.engine = engine;
+        }
+
+        @Override
+        public boolean fling(int velocityX, int velocityY) {
+            if (Math.abs(velocityX) < getMinFlingVelocity()) {
+                return super.fling(velocityX, velocityY);
+            }
+
+            return engine.flingToPage(velocityX);
+        }
+
+        @Override
+        protected void onMeasure(int widthSpec, int heightSpec) {
+            SwipeMetrics metrics = engine.getMetrics();
+            long start = metrics != null ? System.nanoTime() : 0;
+
+            super.onMeasure(widthSpec, heightSpec);
+            engine.onPagerMeasured(getMeasuredWidth());
+
+            if (metrics != null) {
+                metrics.recordSince(SwipeMetrics.MEASURE, start);
+            }
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+            super.onLayout(changed, left, top, right, bottom);
+            engine.onPagesLaidOut();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.os.Bundle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs a list of {@link SwipeItem}s into a Bundle for the saved instance state, so
+ * a recreated SwipeSelector gets its items back without parsing the items XML again.
+ *
+ * Every distinct string is written once, and the items refer to them by index. Titles
+ * and descriptions from string resources are saved as the resource ids instead, so the
+ * restored items still follow locale changes.
+ */
+final class SavedItems {
+    /**
+     * Roughly how many bytes the saved items may take. Everything in the saved
+     * instance state goes through a single binder transaction that's limited to
+     * about a megabyte for the whole process, so this has to stay well below that.
+     */
+    static final int DEFAULT_MAX_BYTES = 64 * 1024;
+
+    private static final String KEY_STRINGS = "strings";
+    private static final String KEY_VALUES = "values";
+    private static final String KEY_TITLES = "titles";
+    private static final String KEY_DESCRIPTIONS = "descriptions";
+    private static final String KEY_TITLE_RESOURCES = "titleResources";
+    private static final String KEY_DESCRIPTION_RESOURCES = "descriptionResources";
+
+    private static final int NO_STRING = -1;
+
+    // A parceled string is its length plus two bytes per char, padded to four bytes.
+    private static final int STRING_OVERHEAD_BYTES = 8;
+    private static final int BYTES_PER_ITEM = 5 * 4;
+
+    private SavedItems() {
+    }
+
+    /**
+     * @return the items packed into a Bundle, or null if they would take more than
+     * maxBytes, in which case the items have to be created again some other way.
+     */
+    static Bundle save(List<SwipeItem> items, int maxBytes) {
+        int count = items.size();
+        long bytes = (long) count * BYTES_PER_ITEM;
+
+        if (bytes > maxBytes) {
+            return null;
+        }
+
+        Map<String, Integer> indexes = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int[] values = new int[count];
+        int[] titles = new int[count];
+        int[] descriptions = new int[count];
+        int[] titleResources = new int[count];
+        int[] descriptionResources = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            SwipeItem item = items.get(i);
+            titleResources[i] = item.getTitleResource();
+            descriptionResources[i] = item.getDescriptionResource();
+
+            values[i] = indexOf(item.getValue(), indexes, strings);
+            titles[i] = titleResources[i] != 0
+                    ? NO_STRING : indexOf(item.getTitle(), indexes, strings);
+            descriptions[i] = descriptionResources[i] != 0
+                    ? NO_STRING : indexOf(item.getDescription(), indexes, strings);
+        }
+
+        for (String string : strings) {
+            bytes += STRING_OVERHEAD_BYTES + 2L * string.length();
+
+            if (bytes > maxBytes) {
+                return null;
+            }
+        }
+
+        Bundle bundle = new Bundle();
+        bundle.putStringArray(KEY_STRINGS, strings.toArray(new String[strings.size()]));
+        bundle.putIntArray(KEY_VALUES, values);
+        bundle.putIntArray(KEY_TITLES, titles);
+        bundle.putIntArray(KEY_DESCRIPTIONS, descriptions);
+        bundle.putIntArray(KEY_TITLE_RESOURCES, titleResources);
+        bundle.putIntArray(KEY_DESCRIPTION_RESOURCES, descriptionResources);
+        return bundle;
+    }
+
+    private static int indexOf(String string, Map<String, Integer> indexes, List<String> strings) {
+        if (string == null) {
+            return NO_STRING;
+        }
+
+        Integer index = indexes.get(string);
+
+        if (index == null) {
+            index = strings.size();
+            indexes.put(string, index);
+            strings.add(string);
+        }
+
+        return index;
+    }
+
+    /**
+     * @return the items unpacked from a Bundle made by {@link #save(List, int)}.
+     */
+    static List<SwipeItem> restore(Context context, Bundle bundle) {
+        String[] strings = bundle.getStringArray(KEY_STRINGS);
+        int[] values = bundle.getIntArray(KEY_VALUES);
+        int[] titles = bundle.getIntArray(KEY_TITLES);
+        int[] descriptions = bundle.getIntArray(KEY_DESCRIPTIONS);
+        int[] titleResources = bundle.getIntArray(KEY_TITLE_RESOURCES);
+        int[] descriptionResources = bundle.getIntArray(KEY_DESCRIPTION_RESOURCES);
+
+        List<SwipeItem> items = new ArrayList<>(values.length);
+
+        for (int i = 0; i < values.length; i++) {
+            SwipeItem item = new SwipeItem();
+            item.setValue(stringAt(strings, values[i]));
+
+            if (titleResources[i] != 0) {
+                item.setTitleResource(context, titleResources[i]);
+            } else {
+                item.setTitle(stringAt(strings, titles[i]));
+            }
+
+            if (descriptionResources[i] != 0) {
+                item.setDescriptionResource(context, descriptionResources[i]);
+            } else {
+                item.setDescription(stringAt(strings, descriptions[i]));
+            }
+
+            items.add(item);
+        }
+
+        return items;
+    }
+
+    private static String stringAt(String[] strings, int index) {
+        return index == NO_STRING ? null : strings[index];
+    }
+}
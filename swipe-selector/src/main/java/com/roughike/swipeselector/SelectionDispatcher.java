@@ -0,0 +1,155 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.os.Handler;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers item selections to an {@link OnSwipeItemSelectedListener}. Selections
+ * can be delivered right away, or only once the pager has settled on an item, so
+ * a fling across many items delivers just the one it stopped at.
+ *
+ * On top of that a delivery can be held back for a while in case another one
+ * comes along, and delivered on an Executor instead of the main thread.
+ */
+final class SelectionDispatcher {
+    static final int DELIVER_IMMEDIATELY = 0;
+    static final int DELIVER_WHEN_SETTLED = 1;
+
+    private final Handler mainThread = SwipeExecutors.mainThread();
+
+    private OnSwipeItemSelectedListener listener;
+    private int delivery = DELIVER_IMMEDIATELY;
+    private long debounceMillis;
+    private Executor executor;
+    private SwipeMetrics metrics;
+
+    private SwipeItem pendingItem;
+    private SwipeItem deliveredItem;
+
+    private final Runnable deliverPending = new Runnable() {
+        @Override
+        public void run() {
+            deliver();
+        }
+    };
+
+    void setListener(OnSwipeItemSelectedListener listener) {
+        this.listener = listener;
+    }
+
+    void setDelivery(int delivery) {
+        this.delivery = delivery;
+    }
+
+    void setDebounceMillis(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+    }
+
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    void setMetrics(SwipeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Called on the main thread when a different item gets selected.
+     *
+     * @param settled true if the pager isn't scrolling, so this is where it stays.
+     */
+    void onItemSelected(SwipeItem item, boolean settled) {
+        if (listener == null) return;
+
+        pendingItem = item;
+        mainThread.removeCallbacks(deliverPending);
+
+        if (delivery == DELIVER_IMMEDIATELY || settled) {
+            schedule();
+        }
+    }
+
+    /**
+     * Called on the main thread when the pager stops scrolling.
+     */
+    void onSettled() {
+        if (delivery == DELIVER_WHEN_SETTLED && pendingItem != null) {
+            schedule();
+        }
+    }
+
+    /**
+     * Forgets a selection that hasn't been delivered yet, along with the last one
+     * that was. Called whenever the items are reset or bound, after which even the
+     * same SwipeItem instance being selected again is a new selection.
+     */
+    void cancel() {
+        pendingItem = null;
+        deliveredItem = null;
+        mainThread.removeCallbacks(deliverPending);
+    }
+
+    private void schedule() {
+        mainThread.removeCallbacks(deliverPending);
+
+        if (debounceMillis > 0) {
+            mainThread.postDelayed(deliverPending, debounceMillis);
+        } else {
+            deliver();
+        }
+    }
+
+    private void deliver() {
+        final SwipeItem item = pendingItem;
+        final OnSwipeItemSelectedListener target = listener;
+        final SwipeMetrics metrics = this.metrics;
+        pendingItem = null;
+
+        if (item == null || target == null) return;
+
+        // When settling, swiping away and coming back to the same item doesn't
+        // count as a new selection.
+        if (delivery == DELIVER_WHEN_SETTLED && item == deliveredItem) return;
+        deliveredItem = item;
+
+        if (executor == null) {
+            dispatch(target, item, metrics);
+        } else {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    dispatch(target, item, metrics);
+                }
+            });
+        }
+    }
+
+    private static void dispatch(OnSwipeItemSelectedListener target, SwipeItem item,
+                                 SwipeMetrics metrics) {
+        long start = metrics != null ? System.nanoTime() : 0;
+
+        target.onItemSelected(item);
+
+        if (metrics != null) {
+            metrics.recordSince(SwipeMetrics.DISPATCH, start);
+        }
+    }
+}
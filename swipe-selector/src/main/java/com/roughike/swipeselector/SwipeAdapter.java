@@ -20,37 +20,44 @@ package com.roughike.swipeselector;
 import android.animation.ObjectAnimator;
 import android.content.Context;
 import android.graphics.Typeface;
-import android.graphics.drawable.ShapeDrawable;
 import android.os.Build;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.v4.content.ContextCompat;
 import android.support.v4.view.PagerAdapter;
 import android.support.v4.view.ViewPager;
+import android.text.Layout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.Log;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import java.util.List;
-
-class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPager.OnPageChangeListener {
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPager.OnPageChangeListener,
+        ItemWindow.OnItemLoadedListener {
+    private static final String TAG = "SwipeSelector";
+    private static final SwipeItem LOADING_ITEM = new SwipeItem(null, "", null);
     private static final String STATE_CURRENT_POSITION = "STATE_CURRENT_POSITION";
-    private static final String TAG_CIRCLE = "TAG_CIRCLE";
 
     // For the left and right buttons when they're not visible
     private static final String TAG_HIDDEN = "TAG_HIDDEN";
 
-    private final Context context;
+    // Animated selections farther than this many pages away skip the pages in between.
+    static final int DEFAULT_LONG_JUMP_DISTANCE = 3;
 
-    private final ViewPager viewPager;
-    private final ViewGroup indicatorContainer;
+    private final Context context;
 
-    private final LinearLayout.LayoutParams circleParams;
-    private final ShapeDrawable inActiveCircleDrawable;
-    private final ShapeDrawable activeCircleDrawable;
+    private final PagingEngine pager;
+    private final IndicatorStripView indicatorStrip;
 
     private Typeface customTypeFace;
     private final int titleTextAppearance;
@@ -64,30 +71,60 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
     private final int contentLeftPadding;
     private final int contentRightPadding;
 
-    private OnSwipeItemSelectedListener onItemSelectedListener;
-    private List<SwipeItem> items;
+    private final boolean flattenItemViews;
+    private PageViewPool pagePool;
+    private int preinflatedPageCount;
+    private final TextLayoutCache textLayouts;
+
+    // Precomputed text heights can only stand in for measuring the page when
+    // the text isn't transformed, for example to all caps, by the TextViews.
+    private boolean canUsePrecomputedHeights;
+    private int descriptionTopMargin;
+
+    private final SelectionDispatcher selectionDispatcher = new SelectionDispatcher();
+    private OnSwipeProgressListener onSwipeProgressListener;
+    private SwipeMetrics metrics;
+    private int scrollState = ViewPager.SCROLL_STATE_IDLE;
+    private ItemWindow items = ItemWindow.EMPTY;
+    private ValueIndex valueIndex = ValueIndex.EMPTY;
+    private FutureTask<TitleIndex> titleIndex;
+    private int longJumpDistance = DEFAULT_LONG_JUMP_DISTANCE;
     private int currentPosition;
 
-    private SwipeAdapter(Builder builder) {
-        context = builder.viewPager.getContext();
-
-        viewPager = builder.viewPager;
-        viewPager.addOnPageChangeListener(this);
+    // While the pager asks for the new positions of its pages after the items
+    // changed, tells how the positions moved. A reset means no page survives.
+    private SwipeItemDiff.Result pendingUpdate;
+    private boolean pendingReset;
+    private boolean suppressSelectionEvents;
+    private int latestUpdateRequest;
 
-        indicatorContainer = builder.indicatorContainer;
-        circleParams = new LinearLayout.LayoutParams(builder.indicatorSize, builder.indicatorSize);
-        circleParams.leftMargin = builder.indicatorMargin;
-
-        inActiveCircleDrawable = Indicator.newOne(
-                builder.indicatorSize, builder.inActiveIndicatorColor);
-        activeCircleDrawable = Indicator.newOne(
-                builder.indicatorSize, builder.activeIndicatorColor);
+    private SwipeAdapter(Builder builder) {
+        pager = builder.pagingEngine != null
+                ? builder.pagingEngine
+                : new ViewPagerEngine(builder.viewPager);
+        pager.addOnPageChangeListener(this);
+
+        context = pager.getView().getContext();
+
+        indicatorStrip = builder.indicatorStrip;
+        if (builder.style != null) {
+            indicatorStrip.setIndicators(
+                    builder.style.newActiveIndicator(),
+                    builder.style.newInActiveIndicator(),
+                    builder.indicatorSize,
+                    builder.indicatorMargin);
+        } else {
+            indicatorStrip.setIndicators(
+                    Indicator.newOne(builder.indicatorSize, builder.activeIndicatorColor),
+                    Indicator.newOne(builder.indicatorSize, builder.inActiveIndicatorColor),
+                    builder.indicatorSize,
+                    builder.indicatorMargin);
+        }
 
         if (builder.customFontPath != null &&
                 ((Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && !builder.customFontPath.isEmpty())
                         || builder.customFontPath.length() > 0)) {
-            customTypeFace = Typeface.createFromAsset(context.getAssets(),
-                    builder.customFontPath);
+            customTypeFace = TypefaceCache.get(context, builder.customFontPath);
         }
 
         titleTextAppearance = builder.titleTextAppearance;
@@ -103,10 +140,12 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
         // Calculate paddings for the content so the left and right buttons
         // don't overlap.
         sixteenDp = (int) PixelUtils.dpToPixel(context, 16);
-        contentLeftPadding = ContextCompat.getDrawable(context, builder.leftButtonResource)
-                .getIntrinsicWidth() + sixteenDp;
-        contentRightPadding = ContextCompat.getDrawable(context, builder.rightButtonResource)
-                .getIntrinsicWidth() + sixteenDp;
+        int leftButtonWidth = builder.style != null ? builder.style.leftButtonWidth
+                : ContextCompat.getDrawable(context, builder.leftButtonResource).getIntrinsicWidth();
+        int rightButtonWidth = builder.style != null ? builder.style.rightButtonWidth
+                : ContextCompat.getDrawable(context, builder.rightButtonResource).getIntrinsicWidth();
+        contentLeftPadding = leftButtonWidth + sixteenDp;
+        contentRightPadding = rightButtonWidth + sixteenDp;
 
         leftButton.setOnClickListener(this);
         rightButton.setOnClickListener(this);
@@ -115,23 +154,348 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
         leftButton.setClickable(false);
 
         setAlpha(0.0f, leftButton);
+
+        flattenItemViews = builder.flattenItemViews;
+        pagePool = builder.pagePool != null
+                ? builder.pagePool
+                : new PageViewPool(context, PageViewPool.DEFAULT_MAX_SIZE, flattenItemViews);
+        textLayouts = new TextLayoutCache(SwipeExecutors.background());
+
+        if (flattenItemViews) {
+            PageViewHolder template = new PageViewHolder(
+                    View.inflate(context, R.layout.swipeselector_content_item, null));
+            applyTextStyle(template);
+            captureTextStyle(template);
+        }
     }
 
     /**
      * Protected methods used by SwipeSelector
      */
     void setOnItemSelectedListener(OnSwipeItemSelectedListener listener) {
-        onItemSelectedListener = listener;
+        selectionDispatcher.setListener(listener);
+    }
+
+    void setMetrics(SwipeMetrics metrics) {
+        this.metrics = metrics;
+        selectionDispatcher.setMetrics(metrics);
+    }
+
+    SwipeMetrics getMetrics() {
+        return metrics;
+    }
+
+    void setOnSwipeProgressListener(OnSwipeProgressListener listener) {
+        onSwipeProgressListener = listener;
+    }
+
+    void setSelectionDelivery(int delivery, long debounceMillis) {
+        selectionDispatcher.setDelivery(delivery);
+        selectionDispatcher.setDebounceMillis(debounceMillis);
+    }
+
+    void setSelectionExecutor(Executor executor) {
+        selectionDispatcher.setExecutor(executor);
     }
 
     void setItems(List<SwipeItem> items) {
-        // If there are SwipeItems constructed using String resources
-        // instead of Strings, loop through all of them and get the
-        // Strings.
+        ValueIndex valueIndex = ValueIndex.build(items);
+
+        if (!valueIndex.getDuplicateValues().isEmpty()) {
+            Log.w(TAG, "This SwipeSelector has more than one item with the same value, " +
+                    "selecting by value will always pick the first one. Duplicate values: " +
+                    valueIndex.getDuplicateValues());
+        }
+
+        showItems(new ItemWindow(items), valueIndex);
+    }
+
+    /**
+     * Shows items from a source that creates them on demand. There's no value index
+     * for these, since building one would mean creating every item.
+     */
+    void setItemSource(SwipeItemSource source) {
+        showItems(new ItemWindow(source, ItemWindow.DEFAULT_CACHE_SIZE, this), null);
+    }
+
+    private void showItems(ItemWindow items, ValueIndex valueIndex) {
+        this.items.release();
         this.items = items;
+        this.valueIndex = valueIndex;
+        indexTitlesInBackground();
         currentPosition = 0;
-        setActiveIndicator(0);
-        notifyDataSetChanged();
+
+        // Any updates still being calculated were meant for the old items,
+        // and so were the selections that haven't been delivered yet.
+        latestUpdateRequest++;
+        selectionDispatcher.cancel();
+
+        indicatorStrip.setIndicatorCount(items.getCount());
+        indicatorStrip.setActivePosition(0);
+        invalidatePageMeasurements();
+
+        suppressSelectionEvents = true;
+        pendingReset = true;
+        pager.onItemsReset();
+        pendingReset = false;
+        pager.setCurrentItem(0, false);
+        suppressSelectionEvents = false;
+
+        handleLeftButtonVisibility(0);
+        handleRightButtonVisibility(0);
+        precomputeTextLayouts(0);
+    }
+
+    /**
+     * Replaces the items with new ones, keeping the pages of the items that are
+     * still around and the selection. The differences are calculated in the
+     * background, and only the latest update gets applied if there are many
+     * in flight.
+     */
+    void updateItems(final List<SwipeItem> newItems) {
+        final ItemWindow oldWindow = items;
+        final List<SwipeItem> oldItems = oldWindow.asList();
+
+        if (oldItems == null) {
+            // Items from a source can't be diffed without creating all of them.
+            setItems(newItems);
+            return;
+        }
+
+        final int request = ++latestUpdateRequest;
+
+        SwipeExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                final SwipeItemDiff.Result diff = SwipeItemDiff.calculate(oldItems, newItems);
+                final ValueIndex newValueIndex = ValueIndex.build(newItems);
+
+                SwipeExecutors.mainThread().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (request != latestUpdateRequest) {
+                            return;
+                        }
+
+                        if (items != oldWindow) {
+                            // Something else changed the items meanwhile, diff again.
+                            updateItems(newItems);
+                            return;
+                        }
+
+                        applyUpdate(new ItemWindow(newItems), newValueIndex, diff);
+                    }
+                });
+            }
+        });
+    }
+
+    void notifyItemsInserted(int positionStart, int itemCount) {
+        applyNotification(SwipeItemDiff.inserted(getCount(), positionStart, itemCount));
+    }
+
+    void notifyItemsRemoved(int positionStart, int itemCount) {
+        applyNotification(SwipeItemDiff.removed(getCount(), positionStart, itemCount));
+    }
+
+    void notifyItemMoved(int fromPosition, int toPosition) {
+        applyNotification(SwipeItemDiff.moved(getCount(), fromPosition, toPosition));
+    }
+
+    void notifyItemsChanged(int positionStart, int itemCount) {
+        applyNotification(SwipeItemDiff.changed(getCount(), positionStart, itemCount));
+    }
+
+    private void applyNotification(SwipeItemDiff.Result update) {
+        ItemWindow reloadedItems = items.reload();
+
+        if (reloadedItems.getCount() != update.getNewCount()) {
+            throw new IllegalStateException("Inconsistency detected. The SwipeSelector " +
+                    "has " + reloadedItems.getCount() + " items, but should have " +
+                    update.getNewCount() + " after the change it was notified about.");
+        }
+
+        List<SwipeItem> list = reloadedItems.asList();
+        applyUpdate(reloadedItems, list != null ? ValueIndex.build(list) : null, update);
+    }
+
+    /**
+     * Moves the pages that survived the update to their new positions, rebinds the ones
+     * whose content changed and destroys the rest. The selected item stays selected, unless
+     * it was removed, in which case the closest item that's still around gets selected.
+     */
+    private void applyUpdate(ItemWindow newItems, ValueIndex newValueIndex, SwipeItemDiff.Result update) {
+        int newPosition = update.getNewPosition(currentPosition);
+        boolean selectionRemoved = newPosition == SwipeItemDiff.REMOVED;
+
+        if (selectionRemoved) {
+            newPosition = update.getNewPositionOrClosest(currentPosition);
+        }
+
+        showUpdatedItems(newItems, newValueIndex, update, newPosition);
+        indexTitlesInBackground();
+
+        if (selectionRemoved && newItems.getCount() > 0) {
+            dispatchSelection();
+        }
+    }
+
+    /**
+     * Shows other items in the pages that are already there, selecting the given position
+     * without telling anyone. Unlike {@link #setItems(List)}, nothing gets torn down, so this
+     * is cheap enough to do for every row when the SwipeSelectors are in a scrolling list.
+     */
+    void bind(List<SwipeItem> newItems, int selectedPosition) {
+        if (selectedPosition < 0 || (selectedPosition >= newItems.size() && selectedPosition != 0)) {
+            throw new IndexOutOfBoundsException("This SwipeSelector does " +
+                    "not have an item at position " + selectedPosition + ".");
+        }
+
+        // Updates and selections still on their way were meant for the old items.
+        latestUpdateRequest++;
+        selectionDispatcher.cancel();
+
+        // No value index yet, most rows never get searched by value.
+        showUpdatedItems(new ItemWindow(newItems), null,
+                SwipeItemDiff.replaced(items.getCount(), newItems.size()), selectedPosition);
+    }
+
+    private void showUpdatedItems(ItemWindow newItems, ValueIndex newValueIndex,
+                                  SwipeItemDiff.Result update, int newPosition) {
+        items.release();
+        items = newItems;
+        valueIndex = newValueIndex;
+        forgetTitleIndex();
+
+        suppressSelectionEvents = true;
+        pendingUpdate = update;
+        pager.onItemsUpdated(update);
+        pendingUpdate = null;
+
+        if (newItems.getCount() > 0) {
+            pager.setCurrentItem(newPosition, false);
+        }
+
+        suppressSelectionEvents = false;
+
+        currentPosition = newItems.getCount() > 0 ? newPosition : 0;
+        indicatorStrip.setIndicatorCount(newItems.getCount());
+        indicatorStrip.setActivePosition(currentPosition);
+        handleLeftButtonVisibility(currentPosition);
+        handleRightButtonVisibility(currentPosition);
+        // The tallest item may have come or gone, and the heights of changed items
+        // are stale.
+        invalidatePageMeasurements();
+        pager.getView().requestLayout();
+        precomputeTextLayouts(currentPosition);
+    }
+
+    /**
+     * Switches to a different pool of page views, for example one shared by all
+     * the SwipeSelectors on the same screen. The pages currently showing will be
+     * recycled to the new pool when they get destroyed.
+     */
+    void setPagePool(@NonNull PageViewPool pagePool) {
+        if (pagePool.isFlattened() != flattenItemViews) {
+            throw new IllegalArgumentException("The pool has the wrong kind of pages for this SwipeSelector.");
+        }
+
+        this.pagePool = pagePool;
+        pagePool.preinflate(preinflatedPageCount);
+    }
+
+    /**
+     * Starts inflating pages in the background, so the pages for the first screen
+     * and the first swipes are ready before they're needed.
+     *
+     * @param count how many pages to keep ready, or -1 for enough to fill the
+     *              offscreen window on both sides of the current page.
+     */
+    void preinflatePages(int count) {
+        preinflatedPageCount = count == -1 ? 2 * pager.getOffscreenPageLimit() + 1 : count;
+        pagePool.preinflate(preinflatedPageCount);
+    }
+
+    PageViewPool getPagePool() {
+        return pagePool;
+    }
+
+    /**
+     * @return true if the pages are {@link SwipeItemView}s instead of the regular layout.
+     */
+    boolean usesFlattenedPages() {
+        return flattenItemViews;
+    }
+
+    /**
+     * Measures every item with a scratch page to find out the tallest one.
+     *
+     * @param widthMeasureSpec the width the pages are going to be measured with.
+     * @return the height of the tallest page.
+     */
+    int measureTallestPage(int widthMeasureSpec) {
+        int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        int tallest = 0;
+
+        PageViewHolder holder = pagePool.acquire();
+
+        for (int i = 0; i < getCount(); i++) {
+            bindPage(holder, i);
+            holder.itemView.measure(widthMeasureSpec, heightMeasureSpec);
+            tallest = Math.max(tallest, holder.itemView.getMeasuredHeight());
+        }
+
+        pagePool.release(holder);
+        return tallest;
+    }
+
+    /**
+     * Called by the pager whenever it gets measured, so the text layouts can be
+     * built for the width the pages actually have.
+     */
+    void onPagerMeasured(int pagerWidth) {
+        int textWidth = pagerWidth - contentLeftPadding - contentRightPadding;
+
+        if (textWidth != textLayouts.getWidth()) {
+            textLayouts.setWidth(textWidth);
+            precomputeTextLayouts(currentPosition);
+        }
+    }
+
+    /**
+     * Calculates the height of a page from the text layouts built in the background,
+     * without measuring any views.
+     *
+     * @return the height of the page showing the item, or -1 if it can't be known
+     * without measuring the page.
+     */
+    int getPrecomputedPageHeight(SwipeItem item, int widthMeasureSpec) {
+        if (!canUsePrecomputedHeights || item.getTitle() == null) {
+            return -1;
+        }
+
+        TextLayoutCache.PageTextLayouts layouts = textLayouts.get(item);
+        int textWidth = View.MeasureSpec.getSize(widthMeasureSpec)
+                - contentLeftPadding - contentRightPadding;
+
+        if (layouts == null || layouts.width != textWidth) {
+            return -1;
+        }
+
+        int height = sixteenDp + layouts.title.getHeight() + sixteenDp;
+
+        if (layouts.description != null) {
+            height += descriptionTopMargin + layouts.description.getHeight();
+        }
+
+        return height;
+    }
+
+    /**
+     * @return the items as a list, or null if they come from a {@link SwipeItemSource}.
+     */
+    List<SwipeItem> getItemList() {
+        return items.asList();
     }
 
     SwipeItem getSelectedItem() {
@@ -139,28 +503,190 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
     }
 
     void selectItemAt(int position, boolean animate) {
-        if (position < 0 || position >= items.size()) {
+        if (position < 0 || position >= items.getCount()) {
             throw new IndexOutOfBoundsException("This SwipeSelector does " +
                     "not have an item at position " + position + ".");
         }
 
-        viewPager.setCurrentItem(position, animate);
+        moveTo(position, animate);
     }
 
     void selectItemWithValue(@NonNull String value, boolean animate) {
-        boolean itemExists = false;
+        int position = positionOfValue(value);
 
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i).getValue().equals(value)) {
-                viewPager.setCurrentItem(i, animate);
-                itemExists = true;
-                break;
+        if (position == -1) {
+            throw new IllegalArgumentException("This SwipeSelector " +
+                    "does not have an item with the given value " + value + ".");
+        }
+
+        moveTo(position, animate);
+    }
+
+    void setLongJumpDistance(int longJumpDistance) {
+        this.longJumpDistance = longJumpDistance;
+    }
+
+    /**
+     * Animating a selection far away would scroll through every page in between, and
+     * bind each one of them with the RecyclerView based paging. So a long jump goes
+     * straight to the page next to the target without animating, and only the last
+     * page is animated in, from the direction of the original page. Only the pages
+     * around the neighbour and the target ever get bound. The RecyclerView based
+     * paging starts the animation once the jump has been laid out.
+     */
+    private void moveTo(int position, boolean animate) {
+        int distance = position - pager.getCurrentItem();
+
+        if (animate && Math.abs(distance) > longJumpDistance) {
+            int neighbour = distance > 0 ? position - 1 : position + 1;
+
+            // The page next to the target isn't really selected, so nobody hears about it.
+            suppressSelectionEvents = true;
+            pager.setCurrentItem(neighbour, false);
+            suppressSelectionEvents = false;
+        }
+
+        pager.setCurrentItem(position, animate);
+    }
+
+    int positionOfValue(String value) {
+        if (valueIndex == null && items.asList() != null) {
+            // Items bound with bind() get their index when it's first needed.
+            valueIndex = ValueIndex.build(items.asList());
+        }
+
+        if (valueIndex != null) {
+            return valueIndex.positionOf(value);
+        }
+
+        if (items.getSource() instanceof CompactSwipeItemStore) {
+            // Looks the value up without creating any items.
+            return ((CompactSwipeItemStore) items.getSource()).positionOfValue(value);
+        }
+
+        for (int i = 0; i < items.getCount(); i++) {
+            String itemValue = items.get(i).getValue();
+
+            if (value == null ? itemValue == null : value.equals(itemValue)) {
+                return i;
             }
         }
 
-        if (!itemExists) {
-            throw new IllegalArgumentException("This SwipeSelector " +
-                    "does not have an item with the given value " + value + ".");
+        return -1;
+    }
+
+    int positionOfTitlePrefix(String prefix) {
+        return getTitleIndex().positionOfPrefix(prefix);
+    }
+
+    int positionOfTitleContaining(String text) {
+        return getTitleIndex().positionOfSubstring(text);
+    }
+
+    /**
+     * Starts indexing the titles of new items in the background, so the first search
+     * doesn't have to do it on the main thread. Rows bound with {@link #bind(List, int)}
+     * are only indexed when they're first searched, since most of them never are.
+     */
+    private void indexTitlesInBackground() {
+        forgetTitleIndex();
+        titleIndex = newTitleIndexTask();
+
+        if (titleIndex != null) {
+            SwipeExecutors.background().execute(titleIndex);
+        }
+    }
+
+    private void forgetTitleIndex() {
+        if (titleIndex != null) {
+            titleIndex.cancel(false);
+            titleIndex = null;
+        }
+    }
+
+    /**
+     * @return a task for indexing the titles, or null if the items come from a source
+     * that would have to create every item on the main thread to get the titles.
+     */
+    private FutureTask<TitleIndex> newTitleIndexTask() {
+        final List<SwipeItem> list = items.asList();
+        final SwipeItemSource source = items.getSource();
+
+        if (list == null && !(source instanceof CompactSwipeItemStore)) {
+            return null;
+        }
+
+        return new FutureTask<>(new Callable<TitleIndex>() {
+            @Override
+            public TitleIndex call() {
+                return list != null
+                        ? indexTitles(list)
+                        : indexTitles((CompactSwipeItemStore) source);
+            }
+        });
+    }
+
+    private static TitleIndex indexTitles(List<SwipeItem> items) {
+        String[] titles = new String[items.size()];
+
+        for (int i = 0; i < titles.length; i++) {
+            SwipeItem item = items.get(i);
+            titles[i] = item.isRealItem() ? item.getTitle() : null;
+        }
+
+        return TitleIndex.build(titles);
+    }
+
+    /**
+     * Goes through the titles without creating any items.
+     */
+    private static TitleIndex indexTitles(CompactSwipeItemStore store) {
+        String[] titles = new String[store.getCount()];
+
+        for (int i = 0; i < titles.length; i++) {
+            if (!SwipeItem.UNSELECTED_ITEM_VALUE.equals(store.getValueAt(i))) {
+                titles[i] = store.getTitleAt(i);
+            }
+        }
+
+        return TitleIndex.build(titles);
+    }
+
+    /**
+     * @return the title index, waiting for it if it's still being built in the background.
+     * @throws UnsupportedOperationException if the items come from a source other than a
+     * {@link CompactSwipeItemStore}.
+     */
+    private TitleIndex getTitleIndex() {
+        if (titleIndex == null) {
+            titleIndex = newTitleIndexTask();
+
+            if (titleIndex == null) {
+                throw new UnsupportedOperationException("Searching by title needs the items " +
+                        "in a list or a CompactSwipeItemStore. Indexing the titles of any other " +
+                        "SwipeItemSource would mean creating every item on the main thread.");
+            }
+        }
+
+        // If the background threads haven't gotten to it yet, builds it right here
+        // instead of waiting in line. Does nothing if it's already built or building.
+        titleIndex.run();
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    return titleIndex.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -171,7 +697,7 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
     }
 
     void onRestoreInstanceState(Bundle state) {
-        viewPager.setCurrentItem(state.getInt(STATE_CURRENT_POSITION), false);
+        pager.setCurrentItem(state.getInt(STATE_CURRENT_POSITION), false);
         notifyDataSetChanged();
     }
 
@@ -180,56 +706,70 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
      */
     @Override
     public Object instantiateItem(ViewGroup container, int position) {
-        LinearLayout layout = (LinearLayout) View.inflate(context, R.layout.swipeselector_content_item, null);
-        TextView title = (TextView) layout.findViewById(R.id.swipeselector_content_title);
-        TextView description = (TextView) layout.findViewById(R.id.swipeselector_content_description);
+        long start = metrics != null ? System.nanoTime() : 0;
 
-        SwipeItem slideItem = items.get(position);
-        title.setText(slideItem.getTitle());
+        PageViewHolder holder = createPage();
+        bindPage(holder, position);
 
-        if (slideItem.getDescription() == null) {
-            description.setVisibility(View.GONE);
-        } else {
-            description.setVisibility(View.VISIBLE);
-            description.setText(slideItem.getDescription());
+        container.addView(holder.itemView, new ViewPager.LayoutParams());
+
+        if (metrics != null) {
+            metrics.recordSince(SwipeMetrics.BIND, start);
         }
 
-        // We shouldn't get here if the typeface didn't exist.
-        // But just in case, because we're paranoid.
-        if (customTypeFace != null) {
-            title.setTypeface(customTypeFace);
-            description.setTypeface(customTypeFace);
+        return holder.itemView;
+    }
+
+    @Override
+    public void destroyItem(ViewGroup container, int position, Object object) {
+        View page = (View) object;
+        container.removeView(page);
+
+        PageViewHolder holder = PageViewHolder.from(page);
+
+        if (holder != null) {
+            pagePool.release(holder);
         }
+    }
 
-        if (titleTextAppearance != -1) {
-            setTextAppearanceCompat(title, titleTextAppearance);
+    @Override
+    public int getItemPosition(Object object) {
+        PageViewHolder holder = PageViewHolder.from((View) object);
+
+        if (pendingReset) {
+            return POSITION_NONE;
         }
 
-        if (descriptionTextAppearance != -1) {
-            setTextAppearanceCompat(description, descriptionTextAppearance);
+        if (pendingUpdate == null || holder == null) {
+            return POSITION_UNCHANGED;
         }
 
-        if (descriptionGravity != -1) {
-            description.setGravity(descriptionGravity);
+        int oldPosition = holder.boundPosition;
+        int newPosition = pendingUpdate.getNewPosition(oldPosition);
+
+        if (newPosition == SwipeItemDiff.REMOVED) {
+            return POSITION_NONE;
         }
 
-        layout.setPadding(contentLeftPadding,
-                sixteenDp,
-                contentRightPadding,
-                sixteenDp);
+        if (pendingUpdate.isChanged(newPosition) || isShowingPlaceholder(holder)) {
+            bindPage(holder, newPosition);
+        } else {
+            holder.boundPosition = newPosition;
+        }
 
-        container.addView(layout);
-        return layout;
+        return newPosition == oldPosition ? POSITION_UNCHANGED : newPosition;
     }
 
-    @Override
-    public void destroyItem(ViewGroup container, int position, Object object) {
-        container.removeView((View) object);
+    /**
+     * @return true if the page shows a placeholder for an item that wasn't loaded yet.
+     */
+    boolean isShowingPlaceholder(PageViewHolder holder) {
+        return holder.boundItem == LOADING_ITEM;
     }
 
     @Override
     public int getCount() {
-        return items != null ? items.size() : 0;
+        return items.getCount();
     }
 
     @Override
@@ -237,10 +777,25 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
         return view.equals(object);
     }
 
+    @Override
+    public void onItemLoaded(int position) {
+        ViewGroup pages = pager.getView();
+
+        for (int i = 0; i < pages.getChildCount(); i++) {
+            PageViewHolder holder = PageViewHolder.from(pages.getChildAt(i));
+
+            if (holder != null && holder.boundPosition == position) {
+                bindPage(holder, position);
+                pages.requestLayout();
+            }
+        }
+    }
+
     @Override
     public void onPageSelected(int position) {
-        if (getCount() == 0) return;
+        if (getCount() == 0 || suppressSelectionEvents) return;
         setActiveIndicator(position);
+        precomputeTextLayouts(position);
 
         handleLeftButtonVisibility(position);
         handleRightButtonVisibility(position);
@@ -249,54 +804,203 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
     @Override
     public void onClick(View v) {
         if (v.equals(leftButton) && currentPosition >= 1) {
-            viewPager.setCurrentItem(currentPosition - 1, true);
+            pager.setCurrentItem(currentPosition - 1, true);
         } else if (v.equals(rightButton) && currentPosition <= getCount() - 1) {
-            viewPager.setCurrentItem(currentPosition + 1, true);
+            pager.setCurrentItem(currentPosition + 1, true);
         }
     }
 
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        // Called on every frame of a swipe, so nothing here may allocate.
+        indicatorStrip.setScrollProgress(position, positionOffset);
 
+        if (onSwipeProgressListener != null) {
+            onSwipeProgressListener.onSwipeProgress(position, positionOffset);
+        }
     }
 
     @Override
     public void onPageScrollStateChanged(int state) {
+        scrollState = state;
 
+        if (state == ViewPager.SCROLL_STATE_IDLE) {
+            selectionDispatcher.onSettled();
+        }
     }
 
     /**
      * Private convenience methods used by this class.
      */
     private void setActiveIndicator(int position) {
-        if (indicatorContainer.findViewWithTag(TAG_CIRCLE) == null) {
-            // No indicators yet, let's make some. Only run once per configuration.
-            for (int i = 0; i < getCount(); i++) {
-                ImageView indicator = (ImageView) View.inflate(context, R.layout.swipeselector_circle_item, null);
-
-                if (i == position) {
-                    indicator.setImageDrawable(activeCircleDrawable);
-                } else {
-                    indicator.setImageDrawable(inActiveCircleDrawable);
-                }
+        indicatorStrip.setActivePosition(position);
+        currentPosition = position;
+
+        dispatchSelection();
+    }
+
+    private void dispatchSelection() {
+        selectionDispatcher.onItemSelected(getSelectedItem(),
+                scrollState == ViewPager.SCROLL_STATE_IDLE);
+    }
+
+    /**
+     * @return a page to bind items to, from the pool when there's one to spare.
+     */
+    PageViewHolder createPage() {
+        return pagePool.acquire();
+    }
+
+    /**
+     * Binds the item at the given position to a page. The page might be a recycled
+     * one, so only the things that are different from the last bind are touched.
+     */
+    void bindPage(PageViewHolder holder, int position) {
+        SwipeItem slideItem = items.peek(position);
+
+        if (slideItem == null) {
+            // Still loading, show an empty page until the item arrives.
+            slideItem = LOADING_ITEM;
+        }
+
+        holder.boundItem = slideItem;
+        holder.boundPosition = position;
+
+        if (holder.itemRenderer != null) {
+            holder.itemRenderer.bind(slideItem, textLayouts, descriptionTopMargin);
+        } else {
+            bindTextViews(holder, slideItem);
+        }
+
+        View page = holder.itemView;
+
+        if (page.getPaddingLeft() != contentLeftPadding || page.getPaddingTop() != sixteenDp
+                || page.getPaddingRight() != contentRightPadding || page.getPaddingBottom() != sixteenDp) {
+            page.setPadding(contentLeftPadding,
+                    sixteenDp,
+                    contentRightPadding,
+                    sixteenDp);
+        }
+
+        if (!textLayouts.hasTextStyle() && holder.title != null) {
+            captureTextStyle(holder);
+        }
+    }
+
+    private void bindTextViews(PageViewHolder holder, SwipeItem slideItem) {
+        TextView title = holder.title;
+        TextView description = holder.description;
+
+        if (!TextUtils.equals(holder.boundTitle, slideItem.getTitle())) {
+            title.setText(slideItem.getTitle());
+            holder.boundTitle = slideItem.getTitle();
+        }
 
-                indicator.setLayoutParams(circleParams);
-                indicator.setTag(TAG_CIRCLE);
-                indicatorContainer.addView(indicator);
+        if (slideItem.getDescription() == null) {
+            if (holder.boundDescriptionVisibility != View.GONE) {
+                description.setVisibility(View.GONE);
+                holder.boundDescriptionVisibility = View.GONE;
+            }
+        } else {
+            if (holder.boundDescriptionVisibility != View.VISIBLE) {
+                description.setVisibility(View.VISIBLE);
+                holder.boundDescriptionVisibility = View.VISIBLE;
+            }
+
+            if (!TextUtils.equals(holder.boundDescription, slideItem.getDescription())) {
+                description.setText(slideItem.getDescription());
+                holder.boundDescription = slideItem.getDescription();
             }
-            return;
         }
 
-        ImageView previousActiveIndicator = (ImageView) indicatorContainer.getChildAt(currentPosition);
-        ImageView nextActiveIndicator = (ImageView) indicatorContainer.getChildAt(position);
+        applyTextStyle(holder);
+    }
 
-        previousActiveIndicator.setImageDrawable(inActiveCircleDrawable);
-        nextActiveIndicator.setImageDrawable(activeCircleDrawable);
+    private void applyTextStyle(PageViewHolder holder) {
+        TextView title = holder.title;
+        TextView description = holder.description;
+
+        // A shared pool can hand out a page styled by another SwipeSelector, so where
+        // this one has no custom style, the one from the layout is put back.
+        // Setting a text appearance resets the typeface to the one of the appearance,
+        // so when either one changes, the appearances are applied first and a custom
+        // typeface after them.
+        if (holder.appliedTypeface != customTypeFace
+                || holder.appliedTitleTextAppearance != titleTextAppearance
+                || holder.appliedDescriptionTextAppearance != descriptionTextAppearance) {
+            setTextAppearanceCompat(title, titleTextAppearance != -1
+                    ? titleTextAppearance : R.style.TextAppearance_SwipeSelector_Title);
+            setTextAppearanceCompat(description, descriptionTextAppearance != -1
+                    ? descriptionTextAppearance : R.style.TextAppearance_SwipeSelector_Description);
+
+            if (customTypeFace != null) {
+                title.setTypeface(customTypeFace);
+                description.setTypeface(customTypeFace);
+            }
 
-        currentPosition = position;
+            holder.appliedTypeface = customTypeFace;
+            holder.appliedTitleTextAppearance = titleTextAppearance;
+            holder.appliedDescriptionTextAppearance = descriptionTextAppearance;
+        }
+
+        if (holder.appliedDescriptionGravity != descriptionGravity) {
+            description.setGravity(descriptionGravity != -1
+                    ? descriptionGravity : holder.originalDescriptionGravity);
+            holder.appliedDescriptionGravity = descriptionGravity;
+        }
+    }
+
+    /**
+     * Starts building the text layouts for the pages just outside the offscreen
+     * window, so they're ready by the time the user swipes to them.
+     */
+    private void precomputeTextLayouts(int position) {
+        int distance = pager.getOffscreenPageLimit() + 1;
+        textLayouts.precompute(items, position - distance, position + distance);
+    }
+
+    /**
+     * Takes the text style for the background layouts from a bound page, so
+     * the text appearances and the typeface are exactly what the TextViews use.
+     * Flattened pages have no TextViews, so they get it from a regular page that's
+     * only created for this.
+     */
+    private void captureTextStyle(PageViewHolder holder) {
+        Layout.Alignment descriptionAlignment = Layout.Alignment.ALIGN_NORMAL;
+
+        if (descriptionGravity == Gravity.CENTER_HORIZONTAL) {
+            descriptionAlignment = Layout.Alignment.ALIGN_CENTER;
+        } else if (descriptionGravity == Gravity.END) {
+            descriptionAlignment = Layout.Alignment.ALIGN_OPPOSITE;
+        }
 
-        if (onItemSelectedListener != null) {
-            onItemSelectedListener.onItemSelected(getSelectedItem());
+        ViewGroup.LayoutParams params = holder.description.getLayoutParams();
+
+        if (params instanceof ViewGroup.MarginLayoutParams) {
+            descriptionTopMargin = ((ViewGroup.MarginLayoutParams) params).topMargin;
+        }
+
+        canUsePrecomputedHeights = holder.title.getTransformationMethod() == null
+                && holder.description.getTransformationMethod() == null;
+
+        // TextViews set the color on their paint only when drawing.
+        TextPaint titlePaint = new TextPaint(holder.title.getPaint());
+        titlePaint.setColor(holder.title.getCurrentTextColor());
+        TextPaint descriptionPaint = new TextPaint(holder.description.getPaint());
+        descriptionPaint.setColor(holder.description.getCurrentTextColor());
+
+        textLayouts.setTextStyle(titlePaint, descriptionPaint, descriptionAlignment,
+                TextLayoutCache.LineStyle.of(holder.title),
+                TextLayoutCache.LineStyle.of(holder.description));
+        textLayouts.setTransformations(
+                holder.title, holder.title.getTransformationMethod(),
+                holder.description, holder.description.getTransformationMethod());
+        precomputeTextLayouts(currentPosition);
+    }
+
+    private void invalidatePageMeasurements() {
+        if (pager.getView() instanceof WrappingPager) {
+            ((WrappingPager) pager.getView()).invalidateMeasureCache();
         }
     }
 
@@ -386,7 +1090,8 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
 
     static class Builder {
         private ViewPager viewPager;
-        private ViewGroup indicatorContainer;
+        private PagingEngine pagingEngine;
+        private IndicatorStripView indicatorStrip;
 
         private int indicatorSize;
         private int indicatorMargin;
@@ -404,6 +1109,10 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
         private int descriptionTextAppearance;
         private int descriptionGravity;
 
+        private PageViewPool pagePool;
+        private boolean flattenItemViews;
+        private SwipeStyle style;
+
         Builder() {
         }
 
@@ -412,8 +1121,13 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
             return this;
         }
 
-        Builder indicatorContainer(ViewGroup indicatorContainer) {
-            this.indicatorContainer = indicatorContainer;
+        Builder pagingEngine(PagingEngine pagingEngine) {
+            this.pagingEngine = pagingEngine;
+            return this;
+        }
+
+        Builder indicatorStrip(IndicatorStripView indicatorStrip) {
+            this.indicatorStrip = indicatorStrip;
             return this;
         }
 
@@ -477,6 +1191,36 @@ class SwipeAdapter extends PagerAdapter implements View.OnClickListener, ViewPag
             return this;
         }
 
+        /**
+         * Takes all the attributes from an already resolved style. The same style
+         * can be used for any number of builds.
+         */
+        Builder style(SwipeStyle style) {
+            this.style = style;
+            indicatorSize = style.indicatorSize;
+            indicatorMargin = style.indicatorMargin;
+            inActiveIndicatorColor = style.inActiveIndicatorColor;
+            activeIndicatorColor = style.activeIndicatorColor;
+            leftButtonResource = style.leftButtonResource;
+            rightButtonResource = style.rightButtonResource;
+            customFontPath = style.customFontPath;
+            titleTextAppearance = style.titleTextAppearance;
+            descriptionTextAppearance = style.descriptionTextAppearance;
+            descriptionGravity = style.descriptionGravity;
+            flattenItemViews = style.flattenItemViews;
+            return this;
+        }
+
+        Builder flattenItemViews(boolean flattenItemViews) {
+            this.flattenItemViews = flattenItemViews;
+            return this;
+        }
+
+        Builder pagePool(PageViewPool pagePool) {
+            this.pagePool = pagePool;
+            return this;
+        }
+
         SwipeAdapter build() {
             return new SwipeAdapter(this);
         }
@@ -0,0 +1,99 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads SwipeSelector uses for work that shouldn't happen on the main thread.
+ * All the SwipeSelectors in the process share the same background threads.
+ */
+final class SwipeExecutors {
+    private static final int BACKGROUND_THREAD_COUNT = 2;
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private static ExecutorService background;
+    private static Handler mainThread;
+
+    private SwipeExecutors() {
+    }
+
+    /**
+     * @return an executor with a couple of low priority daemon threads. Idle
+     * threads time out, so this doesn't keep threads around when there's nothing to do.
+     */
+    static synchronized ExecutorService background() {
+        if (background == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    BACKGROUND_THREAD_COUNT,
+                    BACKGROUND_THREAD_COUNT,
+                    KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(),
+                    new BackgroundThreadFactory()
+            );
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.GINGERBREAD) {
+                executor.allowCoreThreadTimeOut(true);
+            }
+
+            background = executor;
+        }
+
+        return background;
+    }
+
+    static synchronized Handler mainThread() {
+        if (mainThread == null) {
+            mainThread = new Handler(Looper.getMainLooper());
+        }
+
+        return mainThread;
+    }
+
+    static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    private static class BackgroundThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "SwipeSelector #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -16,15 +16,39 @@
  */
 package com.roughike.swipeselector;
 
-public class SwipeItem {
+import android.content.Context;
+import android.content.res.Resources;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.StringRes;
+
+import java.util.Locale;
+
+public class SwipeItem implements Parcelable {
     static final String UNSELECTED_ITEM_VALUE = "com.roughike.swipeselector.UNSELECTED_ITEM_VALUE";
     private String value;
     private String title;
     private String description;
 
+    // Titles and descriptions from string resources are only looked up when
+    // they're needed, and looked up again if the locale has changed since.
+    private Resources resources;
+    private int titleResource;
+    private int descriptionResource;
+    private volatile ResolvedString resolvedTitle;
+    private volatile ResolvedString resolvedDescription;
+
     SwipeItem() {
     }
 
+    private SwipeItem(Parcel in) {
+        value = in.readString();
+        title = in.readString();
+        description = in.readString();
+        titleResource = in.readInt();
+        descriptionResource = in.readInt();
+    }
+
     /**
      * Constructor for creating a new item for the {@link SwipeSelector}.
      *
@@ -42,6 +66,25 @@ public class SwipeItem {
         this.description = description;
     }
 
+    /**
+     * Constructor for creating a new item for the {@link SwipeSelector} with the title and
+     * the description in string resources. The strings are only looked up when they're
+     * first needed, and they follow locale changes without having to create the item again.
+     *
+     * @param context any Context.
+     * @param value The value for this item, which should generally be unique
+     * for current {@link SwipeSelector}.
+     * @param titleResource A string resource for a short descriptive title for this item.
+     * @param descriptionResource A string resource for a longer explanation related
+     * to the title, or 0 for no description.
+     */
+    public SwipeItem(Context context, String value, @StringRes int titleResource,
+                     @StringRes int descriptionResource) {
+        this.value = value;
+        setTitleResource(context, titleResource);
+        setDescriptionResource(context, descriptionResource);
+    }
+
     /**
      * Set the value for this SwipeItem.
      *
@@ -59,6 +102,17 @@ public class SwipeItem {
      */
     void setTitle(String title) {
         this.title = title;
+        titleResource = 0;
+    }
+
+    /**
+     * Set the title for this SwipeItem from a string resource, looked up when it's needed.
+     */
+    void setTitleResource(Context context, @StringRes int titleResource) {
+        this.title = null;
+        this.titleResource = titleResource;
+        resolvedTitle = null;
+        useResourcesOf(context);
     }
 
     /**
@@ -70,6 +124,25 @@ public class SwipeItem {
      */
     void setDescription(String description) {
         this.description = description;
+        descriptionResource = 0;
+    }
+
+    /**
+     * Set the description for this SwipeItem from a string resource, looked up when
+     * it's needed.
+     */
+    void setDescriptionResource(Context context, @StringRes int descriptionResource) {
+        this.description = null;
+        this.descriptionResource = descriptionResource;
+        resolvedDescription = null;
+        useResourcesOf(context);
+    }
+
+    private void useResourcesOf(Context context) {
+        // The resources of the Context the item was created with, so an Activity
+        // with a configuration of its own gets the strings for that configuration.
+        // Resources don't hold on to the Context they came from.
+        resources = context.getResources();
     }
 
     /**
@@ -88,7 +161,13 @@ public class SwipeItem {
      * @return the title for this SwipeItem.
      */
     public String getTitle() {
-        return title;
+        if (titleResource == 0 || resources == null) {
+            return title;
+        }
+
+        ResolvedString resolved = resolve(resolvedTitle, titleResource);
+        resolvedTitle = resolved;
+        return resolved.string;
     }
 
     /**
@@ -98,7 +177,39 @@ public class SwipeItem {
      * @return the description for this SwipeItem.
      */
     public String getDescription() {
-        return description;
+        if (descriptionResource == 0 || resources == null) {
+            return description;
+        }
+
+        ResolvedString resolved = resolve(resolvedDescription, descriptionResource);
+        resolvedDescription = resolved;
+        return resolved.string;
+    }
+
+    @StringRes
+    int getTitleResource() {
+        return titleResource;
+    }
+
+    @StringRes
+    int getDescriptionResource() {
+        return descriptionResource;
+    }
+
+    /**
+     * @return the string that was resolved before if the locale is still the same,
+     * otherwise the string looked up again.
+     */
+    @SuppressWarnings("deprecation")
+    private ResolvedString resolve(ResolvedString previous, int stringResource) {
+        Locale locale = resources.getConfiguration().locale;
+
+        if (previous != null && (previous.locale == locale
+                || (previous.locale != null && previous.locale.equals(locale)))) {
+            return previous;
+        }
+
+        return new ResolvedString(resources.getString(stringResource), locale);
     }
 
     /**
@@ -113,4 +224,49 @@ public class SwipeItem {
     boolean isRealItem() {
         return !UNSELECTED_ITEM_VALUE.equals(value);
     }
+
+    /**
+     * Writes the title and the description as they're right now, along with the string
+     * resources they came from. An item read back from a Parcel has no Resources to look
+     * the strings up again with, so it keeps showing the written strings.
+     */
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeString(value);
+        dest.writeString(getTitle());
+        dest.writeString(getDescription());
+        dest.writeInt(titleResource);
+        dest.writeInt(descriptionResource);
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    public static final Creator<SwipeItem> CREATOR = new Creator<SwipeItem>() {
+        @Override
+        public SwipeItem createFromParcel(Parcel in) {
+            return new SwipeItem(in);
+        }
+
+        @Override
+        public SwipeItem[] newArray(int size) {
+            return new SwipeItem[size];
+        }
+    };
+
+    /**
+     * A string looked up from resources, and the locale it was looked up for.
+     * Immutable, so it can be handed between threads as a whole.
+     */
+    private static final class ResolvedString {
+        final String string;
+        final Locale locale;
+
+        ResolvedString(String string, Locale locale) {
+            this.string = string;
+            this.locale = locale;
+        }
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.text.TextUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes how the positions of items changed between two sets of items:
+ * where each old position ended up, and which new positions need to be
+ * rebound because their content changed.
+ *
+ * A Result can either be calculated by diffing two lists, matching items by
+ * their values, or built from a single insert, remove, move or change
+ * notification. Calculating a diff doesn't touch any views, so it can be done
+ * on a background thread.
+ */
+final class SwipeItemDiff {
+    static final int REMOVED = -1;
+
+    private SwipeItemDiff() {
+    }
+
+    /**
+     * Matches the items of the two lists by value. Items with a value that isn't in the
+     * old list are insertions, and old items with a value that isn't in the new list are
+     * removals. Matched items with a different title or description are changes. When
+     * there are duplicate values, only the first one of them gets matched.
+     */
+    static Result calculate(List<SwipeItem> oldItems, List<SwipeItem> newItems) {
+        Map<String, Integer> newPositions = new HashMap<>(newItems.size() * 4 / 3 + 1);
+
+        for (int i = 0; i < newItems.size(); i++) {
+            String value = newItems.get(i).getValue();
+
+            if (!newPositions.containsKey(value)) {
+                newPositions.put(value, i);
+            }
+        }
+
+        int[] oldToNew = new int[oldItems.size()];
+        boolean[] changed = new boolean[newItems.size()];
+        boolean[] matched = new boolean[newItems.size()];
+
+        for (int i = 0; i < oldItems.size(); i++) {
+            SwipeItem oldItem = oldItems.get(i);
+            Integer newPosition = newPositions.get(oldItem.getValue());
+
+            if (newPosition == null || matched[newPosition]) {
+                oldToNew[i] = REMOVED;
+                continue;
+            }
+
+            oldToNew[i] = newPosition;
+            matched[newPosition] = true;
+
+            SwipeItem newItem = newItems.get(newPosition);
+            changed[newPosition] = !TextUtils.equals(oldItem.getTitle(), newItem.getTitle())
+                    || !TextUtils.equals(oldItem.getDescription(), newItem.getDescription());
+        }
+
+        return new Result(oldToNew, changed);
+    }
+
+    static Result inserted(int oldCount, int positionStart, int itemCount) {
+        int[] oldToNew = new int[oldCount];
+
+        for (int i = 0; i < oldCount; i++) {
+            oldToNew[i] = i < positionStart ? i : i + itemCount;
+        }
+
+        return new Result(oldToNew, new boolean[oldCount + itemCount]);
+    }
+
+    static Result removed(int oldCount, int positionStart, int itemCount) {
+        int[] oldToNew = new int[oldCount];
+
+        for (int i = 0; i < oldCount; i++) {
+            if (i < positionStart) {
+                oldToNew[i] = i;
+            } else if (i < positionStart + itemCount) {
+                oldToNew[i] = REMOVED;
+            } else {
+                oldToNew[i] = i - itemCount;
+            }
+        }
+
+        return new Result(oldToNew, new boolean[oldCount - itemCount]);
+    }
+
+    static Result moved(int oldCount, int fromPosition, int toPosition) {
+        int[] oldToNew = new int[oldCount];
+
+        for (int i = 0; i < oldCount; i++) {
+            if (i == fromPosition) {
+                oldToNew[i] = toPosition;
+            } else if (fromPosition < toPosition && i > fromPosition && i <= toPosition) {
+                oldToNew[i] = i - 1;
+            } else if (toPosition < fromPosition && i >= toPosition && i < fromPosition) {
+                oldToNew[i] = i + 1;
+            } else {
+                oldToNew[i] = i;
+            }
+        }
+
+        return new Result(oldToNew, new boolean[oldCount]);
+    }
+
+    static Result changed(int oldCount, int positionStart, int itemCount) {
+        int[] oldToNew = new int[oldCount];
+        boolean[] changed = new boolean[oldCount];
+
+        for (int i = 0; i < oldCount; i++) {
+            oldToNew[i] = i;
+            changed[i] = i >= positionStart && i < positionStart + itemCount;
+        }
+
+        return new Result(oldToNew, changed);
+    }
+
+    /**
+     * All the items were replaced with unrelated ones. The pages stay where they are and
+     * all get rebound, and if there are fewer items than before, the pages past the end
+     * are removed.
+     */
+    static Result replaced(int oldCount, int newCount) {
+        int[] oldToNew = new int[oldCount];
+        boolean[] changed = new boolean[newCount];
+
+        for (int i = 0; i < oldCount; i++) {
+            oldToNew[i] = i < newCount ? i : REMOVED;
+        }
+
+        Arrays.fill(changed, true);
+        return new Result(oldToNew, changed);
+    }
+
+    static final class Result {
+        private final int[] oldToNew;
+        private final boolean[] changed;
+
+        private Result(int[] oldToNew, boolean[] changed) {
+            this.oldToNew = oldToNew;
+            this.changed = changed;
+        }
+
+        int getOldCount() {
+            return oldToNew.length;
+        }
+
+        int getNewCount() {
+            return changed.length;
+        }
+
+        /**
+         * @return the new position for an item, or {@link #REMOVED} if it's gone.
+         */
+        int getNewPosition(int oldPosition) {
+            if (oldPosition < 0 || oldPosition >= oldToNew.length) {
+                return REMOVED;
+            }
+
+            return oldToNew[oldPosition];
+        }
+
+        boolean isChanged(int newPosition) {
+            return changed[newPosition];
+        }
+
+        /**
+         * Finds where the selection should go when the item at the old position was
+         * removed: the next item that's still around, or the last item if none was.
+         */
+        int getNewPositionOrClosest(int oldPosition) {
+            for (int i = Math.max(0, oldPosition); i < oldToNew.length; i++) {
+                if (oldToNew[i] != REMOVED) {
+                    return oldToNew[i];
+                }
+            }
+
+            return Math.max(0, changed.length - 1);
+        }
+    }
+}
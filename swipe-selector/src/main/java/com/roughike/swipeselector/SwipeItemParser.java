@@ -18,9 +18,11 @@
 package com.roughike.swipeselector;
 
 import android.content.Context;
-import android.content.res.XmlResourceParser;
 import android.support.annotation.XmlRes;
+import android.util.AttributeSet;
+import android.util.Xml;
 
+import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
 import java.io.IOException;
@@ -29,16 +31,26 @@ import java.util.List;
 
 final class SwipeItemParser {
     private final Context context;
-    private final XmlResourceParser parser;
+    private final XmlPullParser parser;
+    private final AttributeSet attributes;
     private final List<SwipeItem> swipeItems;
 
     private int currentEventType;
     private SwipeItem currentlyProcessedItem;
 
     SwipeItemParser(Context context, @XmlRes int swipeItemsRes) {
+        this(context, context.getResources().getXml(swipeItemsRes));
+    }
+
+    /**
+     * For parsing items that aren't in a compiled XML resource, such as the
+     * generated ones in the benchmarks.
+     */
+    SwipeItemParser(Context context, XmlPullParser parser) {
         this.context = context;
+        this.parser = parser;
 
-        parser = context.getResources().getXml(swipeItemsRes);
+        attributes = Xml.asAttributeSet(parser);
         swipeItems = new ArrayList<>();
     }
 
@@ -65,11 +77,11 @@ final class SwipeItemParser {
     }
 
     private boolean isAtDocumentEnd() {
-        return currentEventType == XmlResourceParser.END_DOCUMENT;
+        return currentEventType == XmlPullParser.END_DOCUMENT;
     }
 
     private boolean isAtStartOfNewItem() {
-        return currentEventType == XmlResourceParser.START_TAG
+        return currentEventType == XmlPullParser.START_TAG
                 && "item".equals(parser.getName());
     }
 
@@ -92,18 +104,28 @@ final class SwipeItemParser {
                 currentlyProcessedItem.setValue(value);
                 break;
             case "title":
-                String title = getStringValue(position);
-                currentlyProcessedItem.setTitle(title);
+                int titleResource = getStringResource(position);
+
+                if (titleResource != 0) {
+                    currentlyProcessedItem.setTitleResource(context, titleResource);
+                } else {
+                    currentlyProcessedItem.setTitle(parser.getAttributeValue(position));
+                }
                 break;
             case "description":
-                String description = getStringValue(position);
-                currentlyProcessedItem.setDescription(description);
+                int descriptionResource = getStringResource(position);
+
+                if (descriptionResource != 0) {
+                    currentlyProcessedItem.setDescriptionResource(context, descriptionResource);
+                } else {
+                    currentlyProcessedItem.setDescription(parser.getAttributeValue(position));
+                }
                 break;
         }
     }
 
     private String getStringValue(int position) {
-        int stringResource = parser.getAttributeResourceValue(position, 0);
+        int stringResource = getStringResource(position);
 
         if (stringResource != 0) {
             return context.getString(stringResource);
@@ -112,8 +134,17 @@ final class SwipeItemParser {
         return parser.getAttributeValue(position);
     }
 
+    /**
+     * @return the string resource the attribute refers to, or 0 if it's a plain string.
+     * Titles and descriptions keep just the resource, and look the string up when
+     * they're shown.
+     */
+    private int getStringResource(int position) {
+        return attributes.getAttributeResourceValue(position, 0);
+    }
+
     private boolean isAtEndOfAnItem() {
-        return currentEventType == XmlResourceParser.END_TAG
+        return currentEventType == XmlPullParser.END_TAG
                 && "item".equals(parser.getName())
                 && currentlyProcessedItem != null;
     }
@@ -0,0 +1,44 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+/**
+ * Provides the items for a {@link SwipeSelector} on demand, instead of all of
+ * them being created up front. Useful when there are a lot of items and most
+ * of them will never be swiped to.
+ *
+ * Only the items around the currently selected one are kept in memory, so
+ * the same position can be asked for more than once.
+ */
+public interface SwipeItemSource {
+    /**
+     * @return how many items there are. If the count changes while this source is
+     * used by a SwipeSelector, the SwipeSelector has to be told about it with
+     * {@link SwipeSelector#notifyItemsInserted(int, int)} or
+     * {@link SwipeSelector#notifyItemsRemoved(int, int)}.
+     */
+    int getCount();
+
+    /**
+     * Called on the main thread whenever an item is needed right away.
+     *
+     * @param position the position of the item, between 0 and getCount() - 1.
+     * @return the {@link SwipeItem} at the given position.
+     */
+    SwipeItem getItemAt(int position);
+}
@@ -0,0 +1,167 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.text.Layout;
+import android.text.TextUtils;
+import android.view.View;
+
+/**
+ * A page that draws the title and the description of its item by itself, instead
+ * of being a LinearLayout with two TextViews. One view to measure, lay out and draw
+ * per page, and the text layouts come from the {@link TextLayoutCache}, usually
+ * built in the background before the page is even bound.
+ *
+ * Looks the same as the regular page: the text appearances, the typeface and the
+ * description gravity all come from the paints the cache was given, and the text
+ * blocks are centered the same way the TextViews are.
+ */
+final class SwipeItemView extends View {
+    private TextLayoutCache textLayouts;
+    private SwipeItem item;
+    private int descriptionTopMargin;
+
+    // Resolved in onMeasure for the width the page got.
+    private TextLayoutCache.PageTextLayouts layouts;
+    private int titleOffset;
+    private int descriptionOffset;
+    private int contentHeight;
+
+    SwipeItemView(Context context) {
+        super(context);
+    }
+
+    /**
+     * Shows an item. The page might have been used by another SwipeSelector before,
+     * so it's also told where its text layouts come from.
+     */
+    void bind(SwipeItem item, TextLayoutCache textLayouts, int descriptionTopMargin) {
+        if (this.item == item && this.textLayouts == textLayouts
+                && this.descriptionTopMargin == descriptionTopMargin) {
+            return;
+        }
+
+        this.item = item;
+        this.textLayouts = textLayouts;
+        this.descriptionTopMargin = descriptionTopMargin;
+        layouts = null;
+        setContentDescription(describe(item));
+
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * The text is only drawn, so without a content description accessibility
+     * services would have nothing to read out. Says what the two TextViews of
+     * the regular page would.
+     */
+    private static CharSequence describe(SwipeItem item) {
+        String title = item.getTitle();
+        String description = item.getDescription();
+
+        if (TextUtils.isEmpty(description)) {
+            return TextUtils.isEmpty(title) ? null : title;
+        }
+
+        return TextUtils.isEmpty(title) ? description : title + "\n" + description;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int textWidth = Math.max(0, width - getPaddingLeft() - getPaddingRight());
+
+        if (item != null && textLayouts != null
+                && (layouts == null || layouts.width != textWidth)) {
+            layouts = textLayouts.obtain(item, textWidth);
+
+            if (layouts != null) {
+                titleOffset = getBlockOffset(layouts.title, textWidth);
+                descriptionOffset = getBlockOffset(layouts.description, textWidth);
+            }
+        }
+
+        contentHeight = getPaddingTop() + getPaddingBottom();
+
+        if (layouts != null) {
+            contentHeight += getHeightOf(layouts.title);
+
+            if (layouts.description != null) {
+                contentHeight += descriptionTopMargin + layouts.description.getHeight();
+            }
+        }
+
+        setMeasuredDimension(width, resolveSize(contentHeight, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (layouts == null) {
+            return;
+        }
+
+        // Centered vertically, like the content of the regular page.
+        int top = getPaddingTop() + (getHeight() - contentHeight) / 2;
+
+        if (layouts.title != null) {
+            drawLayout(canvas, layouts.title, getPaddingLeft() + titleOffset, top);
+            top += layouts.title.getHeight();
+        }
+
+        if (layouts.description != null) {
+            top += descriptionTopMargin;
+            drawLayout(canvas, layouts.description, getPaddingLeft() + descriptionOffset, top);
+        }
+    }
+
+    private static void drawLayout(Canvas canvas, Layout layout, int left, int top) {
+        int saveCount = canvas.save();
+        canvas.translate(left, top);
+        layout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    private static int getHeightOf(Layout layout) {
+        return layout != null ? layout.getHeight() : 0;
+    }
+
+    /**
+     * The TextViews on a regular page wrap their text and get centered, so their
+     * lines are aligned within the widest line, and that block is in the middle.
+     *
+     * @return how much to move the layout to get its block of lines to the middle.
+     */
+    private static int getBlockOffset(Layout layout, int width) {
+        if (layout == null || layout.getLineCount() == 0) {
+            return 0;
+        }
+
+        float left = Float.MAX_VALUE;
+        float right = 0;
+
+        for (int i = 0; i < layout.getLineCount(); i++) {
+            left = Math.min(left, layout.getLineLeft(i));
+            right = Math.max(right, layout.getLineRight(i));
+        }
+
+        return Math.round((width - (right - left)) / 2f - left);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.annotation.XmlRes;
+import android.support.v4.util.LruCache;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps the items created from swipe items XML resources, so every SwipeSelector
+ * using the same resource shares one list instead of parsing the XML again. The
+ * lists can't be modified, and neither can the items from outside this package.
+ * Inside it, the items must never be changed through their setters, since every
+ * SwipeSelector using the resource has the very same instances.
+ *
+ * Which XML resource and string values the items come from depends on the
+ * configuration, so the lists are kept for each configuration separately, and
+ * Contexts with different configurations, such as an Activity and a dialog with
+ * an override configuration, don't throw each other's lists away.
+ * Safe to use from any thread.
+ */
+final class SwipeItemsCache {
+    private static final int CACHE_SIZE = 16;
+
+    private static final LruCache<Key, List<SwipeItem>> lists = new LruCache<>(CACHE_SIZE);
+
+    private SwipeItemsCache() {
+    }
+
+    /**
+     * Gets the items of a swipe items XML resource, creating them if they're not in the
+     * cache yet for the configuration of the Context.
+     *
+     * @param context any Context, its configuration decides which items are returned.
+     * @param itemsXmlResource the XML resource with the items.
+     * @return the shared, unmodifiable items.
+     */
+    static List<SwipeItem> get(Context context, @XmlRes int itemsXmlResource) {
+        Configuration configuration = context.getResources().getConfiguration();
+        List<SwipeItem> items;
+
+        synchronized (lists) {
+            items = lists.get(new Key(itemsXmlResource, configuration));
+        }
+
+        if (items != null) {
+            return items;
+        }
+
+        // Not holding the lock while loading, so loading one resource doesn't keep
+        // the others waiting. At worst, the same resource gets loaded twice.
+        items = Collections.unmodifiableList(CompiledSwipeItems.load(context, itemsXmlResource));
+
+        synchronized (lists) {
+            // A copy, since the configuration of the Resources changes in place.
+            lists.put(new Key(itemsXmlResource, new Configuration(configuration)), items);
+        }
+
+        return items;
+    }
+
+    static void clear() {
+        synchronized (lists) {
+            lists.evictAll();
+        }
+    }
+
+    /**
+     * A resource in one configuration. Compared by the whole configuration, not just
+     * its hash code, so two configurations never get each other's items.
+     */
+    private static final class Key {
+        private final int itemsXmlResource;
+        private final Configuration configuration;
+
+        Key(int itemsXmlResource, Configuration configuration) {
+            this.itemsXmlResource = itemsXmlResource;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) o;
+            return itemsXmlResource == other.itemsXmlResource
+                    && configuration.equals(other.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * itemsXmlResource + configuration.hashCode();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts and times the expensive things SwipeSelectors do: constructing the view,
+ * parsing items XML, binding pages, measuring and delivering selections to the
+ * listener. Give one to {@link SwipeSelector#setMetrics(SwipeMetrics)}, or to
+ * {@link SwipeSelector#setDefaultMetrics(SwipeMetrics)} to cover every SwipeSelector
+ * created after that, including their construction.
+ *
+ * Recording is lock-free and doesn't allocate, so one instance can be shared by
+ * any number of SwipeSelectors and threads. The latencies go into histograms with
+ * power of two buckets, so the percentiles in a {@link Snapshot} are upper bounds
+ * accurate to within a factor of two. Without a SwipeMetrics, nothing is timed at all.
+ */
+public final class SwipeMetrics {
+    /**
+     * Constructing a SwipeSelector, including inflating its layout and resolving its
+     * attributes. Only recorded with {@link SwipeSelector#setDefaultMetrics(SwipeMetrics)}.
+     */
+    public static final int CONSTRUCT = 0;
+
+    /**
+     * Parsing a swipe items XML resource, in the foreground or in the background.
+     */
+    public static final int PARSE = 1;
+
+    /**
+     * Creating or recycling a page and binding an item to it.
+     */
+    public static final int BIND = 2;
+
+    /**
+     * Measuring the pager that shows the pages.
+     */
+    public static final int MEASURE = 3;
+
+    /**
+     * Delivering a selection to the OnSwipeItemSelectedListener.
+     */
+    public static final int DISPATCH = 4;
+
+    private static final String[] NAMES = {"construct", "parse", "bind", "measure", "dispatch"};
+    private static final int OPERATION_COUNT = NAMES.length;
+
+    // One bucket for every power of two nanoseconds a long can hold.
+    private static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(OPERATION_COUNT);
+    private final AtomicLongArray totalNanos = new AtomicLongArray(OPERATION_COUNT);
+    private final AtomicLongArray maxNanos = new AtomicLongArray(OPERATION_COUNT);
+    private final AtomicLongArray buckets = new AtomicLongArray(OPERATION_COUNT * BUCKET_COUNT);
+
+    /**
+     * Callback for sending the metrics to wherever they're collected.
+     */
+    public interface Reporter {
+        /**
+         * @param snapshot the metrics recorded since the last report.
+         */
+        void report(Snapshot snapshot);
+    }
+
+    /**
+     * @return a short name for the operation, such as "bind".
+     */
+    public static String nameOf(int operation) {
+        return NAMES[operation];
+    }
+
+    /**
+     * @return how many operations there are, for iterating over a {@link Snapshot}.
+     */
+    public static int getOperationCount() {
+        return OPERATION_COUNT;
+    }
+
+    /**
+     * Records one operation that took the given time.
+     */
+    void record(int operation, long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        counts.incrementAndGet(operation);
+        totalNanos.addAndGet(operation, nanos);
+        buckets.incrementAndGet(operation * BUCKET_COUNT + bucketOf(nanos));
+
+        long max = maxNanos.get(operation);
+
+        while (nanos > max && !maxNanos.compareAndSet(operation, max, nanos)) {
+            max = maxNanos.get(operation);
+        }
+    }
+
+    /**
+     * Records an operation that started at the given {@link System#nanoTime()}.
+     */
+    void recordSince(int operation, long startNanos) {
+        record(operation, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return a copy of everything recorded so far. Operations recorded while
+     * copying may or may not be included.
+     */
+    public Snapshot snapshot() {
+        return copy(false);
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        copy(true);
+    }
+
+    /**
+     * Hands a snapshot to the reporter and starts over. Call this whenever it suits
+     * the telemetry, for example when the app goes to the background. Every recorded
+     * operation ends up in exactly one report, even if it's recorded while reporting,
+     * although its count, time and bucket may be split between two reports.
+     */
+    public void reportTo(Reporter reporter) {
+        reporter.report(copy(true));
+    }
+
+    /**
+     * @param clear whether to zero each value in the same step that reads it, so
+     * that nothing recorded in between is lost.
+     */
+    private Snapshot copy(boolean clear) {
+        long[] countsCopy = new long[OPERATION_COUNT];
+        long[] totalsCopy = new long[OPERATION_COUNT];
+        long[] maxCopy = new long[OPERATION_COUNT];
+        long[] bucketsCopy = new long[OPERATION_COUNT * BUCKET_COUNT];
+
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            countsCopy[i] = clear ? counts.getAndSet(i, 0) : counts.get(i);
+            totalsCopy[i] = clear ? totalNanos.getAndSet(i, 0) : totalNanos.get(i);
+            maxCopy[i] = clear ? maxNanos.getAndSet(i, 0) : maxNanos.get(i);
+        }
+
+        for (int i = 0; i < bucketsCopy.length; i++) {
+            bucketsCopy[i] = clear ? buckets.getAndSet(i, 0) : buckets.get(i);
+        }
+
+        return new Snapshot(countsCopy, totalsCopy, maxCopy, bucketsCopy);
+    }
+
+    private static int bucketOf(long nanos) {
+        return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * The metrics at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long[] totalNanos;
+        private final long[] maxNanos;
+        private final long[] buckets;
+
+        private Snapshot(long[] counts, long[] totalNanos, long[] maxNanos, long[] buckets) {
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+
+        /**
+         * @param operation one of the operations, such as {@link SwipeMetrics#BIND}.
+         * @return how many times the operation was recorded.
+         */
+        public long getCount(int operation) {
+            return counts[operation];
+        }
+
+        public long getTotalNanos(int operation) {
+            return totalNanos[operation];
+        }
+
+        public long getMaxNanos(int operation) {
+            return maxNanos[operation];
+        }
+
+        public long getMeanNanos(int operation) {
+            return counts[operation] == 0 ? 0 : totalNanos[operation] / counts[operation];
+        }
+
+        /**
+         * @param operation one of the operations, such as {@link SwipeMetrics#BIND}.
+         * @param percentile the percentile, from 0 to 100.
+         * @return the upper bound of the bucket the percentile falls into, but never
+         * more than the slowest recorded operation. Zero if nothing was recorded.
+         */
+        public long getPercentileNanos(int operation, double percentile) {
+            long count = counts[operation];
+
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(count * percentile / 100d);
+            long seen = 0;
+
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                seen += buckets[operation * BUCKET_COUNT + bucket];
+
+                if (seen >= rank && seen > 0) {
+                    long upperBound = bucket >= 62 ? Long.MAX_VALUE : (2L << bucket) - 1;
+                    return Math.min(upperBound, maxNanos[operation]);
+                }
+            }
+
+            return maxNanos[operation];
+        }
+    }
+}
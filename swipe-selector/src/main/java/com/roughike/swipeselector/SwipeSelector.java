@@ -18,15 +18,15 @@
 package com.roughike.swipeselector;
 
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.os.Bundle;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
-import android.support.v4.content.ContextCompat;
-import android.support.v4.view.ViewPager;
+import android.support.annotation.XmlRes;
+import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.util.SparseArray;
 import android.view.LayoutInflater;
+import android.view.View;
 import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
@@ -34,20 +34,43 @@ import android.widget.ImageView;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 
 public class SwipeSelector extends FrameLayout {
-    private static final int DEFAULT_INDICATOR_SIZE = 6;
-    private static final int DEFAULT_INDICATOR_MARGIN = 8;
     private static final String STATE_SELECTOR = "STATE_SELECTOR";
+    private static final String STATE_ITEMS = "STATE_ITEMS";
+
+    /**
+     * Deliver every selection as soon as it happens, including the items passed
+     * during a fling. This is the default.
+     */
+    public static final int DELIVER_IMMEDIATELY = SelectionDispatcher.DELIVER_IMMEDIATELY;
+
+    /**
+     * Deliver a selection only once the swiping has stopped, so a fling across
+     * many items delivers only the one it stopped at.
+     */
+    public static final int DELIVER_WHEN_SETTLED = SelectionDispatcher.DELIVER_WHEN_SETTLED;
+
+    private static volatile SwipeMetrics defaultMetrics;
 
     private SwipeAdapter adapter;
-    private ViewPager pager;
-    private ViewGroup indicatorContainer;
+    private WrappingPager pager;
+    private RecyclerPagingEngine recyclerPagingEngine;
+    private IndicatorStripView indicatorStrip;
     private ImageView leftButton;
     private ImageView rightButton;
 
+    private AsyncItemsLoader asyncItemsLoader;
+    private OnSwipeItemsLoadedListener onItemsLoadedListener;
+    private SwipeMetrics metrics;
+
     private int itemsXmlResource;
+    private boolean loadItemsAsync;
+    private boolean hasPendingXmlItems;
+    private boolean hasItemsFromCode;
+    private boolean savesItemsInState;
     private String unselectedItemTitle;
     private String unselectedItemDescription;
 
@@ -62,75 +85,112 @@ public class SwipeSelector extends FrameLayout {
     }
 
     private void init(Context context, AttributeSet attrs) {
+        metrics = defaultMetrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+
         initializeViews(context);
         populateAttrsAndInitAdapter(context, attrs);
+        adapter.setMetrics(metrics);
         populateItems();
+
+        if (metrics != null) {
+            metrics.recordSince(SwipeMetrics.CONSTRUCT, start);
+        }
     }
 
     private void initializeViews(Context context) {
         LayoutInflater inflater = LayoutInflater.from(context);
         inflater.inflate(R.layout.swipeselector_layout, this);
 
-        pager = (ViewPager) findViewById(R.id.swipeselector_layout_swipePager);
-        indicatorContainer = (ViewGroup) findViewById(R.id.swipeselector_layout_circleContainer);
+        pager = (WrappingPager) findViewById(R.id.swipeselector_layout_swipePager);
+        indicatorStrip = (IndicatorStripView) findViewById(R.id.swipeselector_layout_indicatorStrip);
         leftButton = (ImageView) findViewById(R.id.swipeselector_layout_leftButton);
         rightButton = (ImageView) findViewById(R.id.swipeselector_layout_rightButton);
     }
 
     private void populateAttrsAndInitAdapter(Context context, AttributeSet attrs) {
-        TypedArray ta = context.getTheme().obtainStyledAttributes(attrs,
-                R.styleable.SwipeSelector, 0, 0);
-
-        try {
-            itemsXmlResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_itemsXmlResource, 0);
-            unselectedItemTitle = ta.getString(R.styleable.SwipeSelector_swipe_unselectedItemTitle);
-            unselectedItemDescription = ta.getString(R.styleable.SwipeSelector_swipe_unselectedItemDescription);
-
-            int indicatorSize = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorSize,
-                    PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_SIZE));
-            int indicatorMargin = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorMargin,
-                    PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_MARGIN));
-            int indicatorInActiveColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorInActiveColor,
-                    ContextCompat.getColor(context, R.color.swipeselector_color_indicator_inactive));
-            int indicatorActiveColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorActiveColor,
-                    ContextCompat.getColor(context, R.color.swipeselector_color_indicator_active));
-
-            int leftButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_leftButtonResource,
-                    R.drawable.ic_action_navigation_chevron_left);
-            int rightButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_rightButtonResource,
-                    R.drawable.ic_action_navigation_chevron_right);
-
-            String customFontPath = ta.getString(R.styleable.SwipeSelector_swipe_customFontPath);
-            int titleTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_titleTextAppearance,
-                    -1);
-            int descriptionTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_descriptionTextAppearance,
-                    -1);
-            int descriptionGravity = ta.getInteger(R.styleable.SwipeSelector_swipe_descriptionGravity,
-                    -1);
-
-            adapter = new SwipeAdapter.Builder()
-                    .viewPager(pager)
-                    .indicatorContainer(indicatorContainer)
-                    .indicatorSize(indicatorSize)
-                    .indicatorMargin(indicatorMargin)
-                    .inActiveIndicatorColor(indicatorInActiveColor)
-                    .activeIndicatorColor(indicatorActiveColor)
-                    .leftButtonResource(leftButtonResource)
-                    .rightButtonResource(rightButtonResource)
-                    .leftButton(leftButton)
-                    .rightButton(rightButton)
-                    .customFontPath(customFontPath)
-                    .titleTextAppearance(titleTextAppearance)
-                    .descriptionTextAppearance(descriptionTextAppearance)
-                    .descriptionGravity(descriptionGravity)
-                    .build();
-            pager.setAdapter(adapter);
-        } finally {
-            ta.recycle();
+        SwipeStyle style = SwipeStyle.obtain(context, attrs);
+
+        itemsXmlResource = style.itemsXmlResource;
+        loadItemsAsync = style.loadItemsAsync;
+        savesItemsInState = style.saveItemsInState;
+        unselectedItemTitle = style.unselectedItemTitle;
+        unselectedItemDescription = style.unselectedItemDescription;
+
+        PagingEngine pagingEngine;
+
+        if (style.pagingEngine == PagingEngine.RECYCLER_VIEW) {
+            recyclerPagingEngine = new RecyclerPagingEngine(context);
+            replacePager(recyclerPagingEngine.getView());
+            pagingEngine = recyclerPagingEngine;
+        } else {
+            pager.setPinsHeightToTallestItem(style.pinHeightToTallestItem);
+            pagingEngine = new ViewPagerEngine(pager);
         }
+
+        adapter = new SwipeAdapter.Builder()
+                .pagingEngine(pagingEngine)
+                .indicatorStrip(indicatorStrip)
+                .leftButton(leftButton)
+                .rightButton(rightButton)
+                .style(style)
+                .build();
+        pagingEngine.attach(adapter);
+        adapter.preinflatePages(style.preinflatedPages);
+
+        if (style.longJumpDistance != -1) {
+            setLongJumpDistance(style.longJumpDistance);
+        }
+    }
+
+    /**
+     * Puts another paging view in place of the WrappingPager from the layout,
+     * keeping its id and layout params so the rest of the layout stays the same.
+     */
+    private void replacePager(View pagingView) {
+        ViewGroup parent = (ViewGroup) pager.getParent();
+        int index = parent.indexOfChild(pager);
+
+        pagingView.setId(pager.getId());
+        parent.removeViewAt(index);
+        parent.addView(pagingView, index, pager.getLayoutParams());
+        pager = null;
     }
 
     private void populateItems() {
+        if (loadItemsAsync) {
+            startLoadingItems(itemsXmlResource, onItemsLoadedListener);
+        } else if (savesItemsInState) {
+            // Parsed when attached, or when the items are needed before that. The
+            // instance state is restored before either, so a SwipeSelector that gets
+            // its items back from there never parses them.
+            hasPendingXmlItems = itemsXmlResource != 0;
+        } else {
+            inflateItemsFromXml(newPendingItems(), itemsXmlResource);
+        }
+    }
+
+    private void inflatePendingXmlItems() {
+        if (hasPendingXmlItems) {
+            hasPendingXmlItems = false;
+            inflateItemsFromXml(newPendingItems(), itemsXmlResource);
+        }
+    }
+
+    /**
+     * Called when the app gives this SwipeSelector its items in code, which then
+     * replace the ones from the items XML and from the saved instance state.
+     */
+    private void cancelPendingItems() {
+        hasItemsFromCode = true;
+        hasPendingXmlItems = false;
+
+        if (asyncItemsLoader != null) {
+            asyncItemsLoader.cancel();
+        }
+    }
+
+    private List<SwipeItem> newPendingItems() {
         List<SwipeItem> pendingItems = new ArrayList<>();
 
         if (unselectedItemTitle != null && unselectedItemDescription != null) {
@@ -143,18 +203,149 @@ public class SwipeSelector extends FrameLayout {
             pendingItems.add(item);
         }
 
-        inflateItemsFromXml(pendingItems, itemsXmlResource);
+        return pendingItems;
     }
 
     private void inflateItemsFromXml(List<SwipeItem> pendingItems, int itemsXmlResource) {
         if (itemsXmlResource != 0) {
-            SwipeItemParser parser = new SwipeItemParser(getContext(), itemsXmlResource);
-            pendingItems.addAll(parser.parseItems());
+            long start = metrics != null ? System.nanoTime() : 0;
+            pendingItems.addAll(SwipeItemsCache.get(getContext(), itemsXmlResource));
+
+            if (metrics != null) {
+                metrics.recordSince(SwipeMetrics.PARSE, start);
+            }
 
             adapter.setItems(pendingItems);
         }
     }
 
+    /**
+     * Load the items for this SwipeSelector from a swipe items XML resource on a
+     * background thread. Until the items arrive, only the unselected state item is
+     * shown, if this SwipeSelector has one. Detaching this SwipeSelector from the window
+     * cancels the loading until it's attached again, and giving it items with
+     * {@link #setItems(SwipeItem...)} cancels the loading altogether.
+     *
+     * The same can be done in XML with the "swipe_loadItemsAsync" attribute.
+     *
+     * @param itemsXmlResource the XML resource containing the items.
+     * @param listener a listener to notify on the main thread when the items are
+     *                 showing, can be null.
+     */
+    public void loadItemsAsync(@XmlRes int itemsXmlResource, OnSwipeItemsLoadedListener listener) {
+        if (itemsXmlResource == 0) {
+            return;
+        }
+
+        hasItemsFromCode = true;
+        startLoadingItems(itemsXmlResource, listener);
+    }
+
+    private void startLoadingItems(int itemsXmlResource, OnSwipeItemsLoadedListener listener) {
+        hasPendingXmlItems = false;
+
+        if (asyncItemsLoader == null) {
+            asyncItemsLoader = new AsyncItemsLoader(getContext());
+            asyncItemsLoader.setMetrics(metrics);
+        }
+
+        onItemsLoadedListener = listener;
+
+        final List<SwipeItem> pendingItems = newPendingItems();
+
+        if (!pendingItems.isEmpty()) {
+            adapter.setItems(new ArrayList<>(pendingItems));
+        }
+
+        asyncItemsLoader.load(itemsXmlResource, new AsyncItemsLoader.Callback() {
+            @Override
+            public void onItemsParsed(List<SwipeItem> items) {
+                pendingItems.addAll(items);
+                adapter.setItems(pendingItems);
+
+                if (onItemsLoadedListener != null) {
+                    onItemsLoadedListener.onItemsLoaded(pendingItems);
+                }
+            }
+        });
+    }
+
+    /**
+     * Set a listener to be notified when the items declared with the "swipe_itemsXmlResource"
+     * attribute have been loaded asynchronously, when "swipe_loadItemsAsync" is true.
+     *
+     * @param listener the listener that gets notified on the main thread.
+     */
+    public void setOnItemsLoadedListener(OnSwipeItemsLoadedListener listener) {
+        onItemsLoadedListener = listener;
+    }
+
+    /**
+     * @return true if this SwipeSelector is still loading its items in the background.
+     */
+    public boolean isLoadingItems() {
+        return asyncItemsLoader != null && asyncItemsLoader.isLoading();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        inflatePendingXmlItems();
+
+        if (asyncItemsLoader != null) {
+            asyncItemsLoader.resume();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (asyncItemsLoader != null) {
+            asyncItemsLoader.pause();
+        }
+
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Load custom fonts on a background thread ahead of time, for example when the
+     * app starts. All the SwipeSelectors using the same "swipe_customFontPath" share
+     * the same font, so each font is loaded only once in any case, but preloading
+     * keeps even that first load away from the main thread.
+     *
+     * @param context any Context.
+     * @param assetPaths paths to the fonts, such as "fonts/MySuperDuperFont.ttf".
+     */
+    public static void preloadTypefaces(Context context, String... assetPaths) {
+        TypefaceCache.preload(context, assetPaths);
+    }
+
+    /**
+     * Set the metrics that every SwipeSelector created from now on records to,
+     * including how long constructing it takes. Useful for collecting metrics from
+     * SwipeSelectors inflated from layouts.
+     *
+     * @param metrics the metrics to record to, or null to stop recording for new
+     *                SwipeSelectors.
+     */
+    public static void setDefaultMetrics(SwipeMetrics metrics) {
+        defaultMetrics = metrics;
+    }
+
+    /**
+     * Set the metrics this SwipeSelector records to, replacing the default ones
+     * it might have gotten from {@link #setDefaultMetrics(SwipeMetrics)}.
+     *
+     * @param metrics the metrics to record to, or null to stop recording.
+     */
+    public void setMetrics(SwipeMetrics metrics) {
+        this.metrics = metrics;
+        adapter.setMetrics(metrics);
+
+        if (asyncItemsLoader != null) {
+            asyncItemsLoader.setMetrics(metrics);
+        }
+    }
+
     /**
      * Set a listener to be fired every time a different item is chosen.
      * @param listener the listener that gets fired on item selection
@@ -163,6 +354,112 @@ public class SwipeSelector extends FrameLayout {
         adapter.setOnItemSelectedListener(listener);
     }
 
+    /**
+     * Set a listener to be notified on every frame while the items are being swiped,
+     * for driving animations along with the swipe.
+     *
+     * @param listener the listener, or null to remove it.
+     */
+    public void setOnSwipeProgressListener(OnSwipeProgressListener listener) {
+        adapter.setOnSwipeProgressListener(listener);
+    }
+
+    /**
+     * Set how far away an animated selection can be before it stops scrolling through
+     * all the items in between. Selecting an item farther away than this, for example
+     * with {@link #selectItemWithValue(String)}, jumps next to it without animating and
+     * animates just the last swipe, so the pages in between never get created.
+     *
+     * The same can be done in XML with the "swipe_longJumpDistance" attribute.
+     * The default is 3.
+     *
+     * @param pages the largest distance in pages that's still scrolled through.
+     */
+    public void setLongJumpDistance(int pages) {
+        if (pages < 1) {
+            throw new IllegalArgumentException("The long jump distance has to be at least one page.");
+        }
+
+        adapter.setLongJumpDistance(pages);
+    }
+
+    /**
+     * Choose when the listener set with {@link #setOnItemSelectedListener} gets
+     * notified about selections.
+     *
+     * @param delivery either {@link #DELIVER_IMMEDIATELY} or {@link #DELIVER_WHEN_SETTLED}.
+     * @param debounceMillis how long to wait before delivering a selection, in case
+     *                       another one comes along and replaces it. Zero delivers
+     *                       right away.
+     */
+    public void setSelectionDelivery(int delivery, long debounceMillis) {
+        if (delivery != DELIVER_IMMEDIATELY && delivery != DELIVER_WHEN_SETTLED) {
+            throw new IllegalArgumentException("Unknown selection delivery: " + delivery);
+        }
+
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("The debounce time can't be negative.");
+        }
+
+        adapter.setSelectionDelivery(delivery, debounceMillis);
+    }
+
+    /**
+     * Deliver the selections to the listener set with {@link #setOnItemSelectedListener}
+     * on the given Executor instead of the main thread, so a listener doing heavy
+     * work doesn't hold up the swiping.
+     *
+     * @param executor the executor to deliver on, or null for the main thread.
+     */
+    public void setSelectionExecutor(Executor executor) {
+        adapter.setSelectionExecutor(executor);
+    }
+
+    /**
+     * Choose whether this SwipeSelector recycles its pages through a pool shared with
+     * all the other SwipeSelectors using the same Context, instead of a pool of its own.
+     * Sharing is useful when there are lots of SwipeSelectors on the same screen.
+     *
+     * @param shared true to use the shared pool, false to use a private one.
+     */
+    public void setUsesSharedPagePool(boolean shared) {
+        boolean flattened = adapter.usesFlattenedPages();
+        adapter.setPagePool(shared
+                ? PageViewPool.shared(getContext(), flattened)
+                : new PageViewPool(getContext(), PageViewPool.DEFAULT_MAX_SIZE, flattened));
+    }
+
+    /**
+     * Choose whether the height of this SwipeSelector is the height of the tallest
+     * item, instead of the tallest item currently laid out. Keeps the height from
+     * jumping while swiping, but every item gets measured once when the items change.
+     *
+     * Has no effect when the "swipe_pagingEngine" attribute is "recyclerView".
+     *
+     * @param pinsHeightToTallestItem true to pin the height to the tallest item.
+     */
+    public void setPinsHeightToTallestItem(boolean pinsHeightToTallestItem) {
+        if (pager != null) {
+            pager.setPinsHeightToTallestItem(pinsHeightToTallestItem);
+        }
+    }
+
+    /**
+     * Set the pool the pages of this SwipeSelector are recycled through, when the
+     * "swipe_pagingEngine" attribute is "recyclerView". Giving the same pool to many
+     * SwipeSelectors, for example ones in the rows of a list, lets them share pages
+     * instead of each one inflating its own.
+     *
+     * Has no effect with the default ViewPager based paging.
+     *
+     * @param pool the pool to share.
+     */
+    public void setRecycledViewPool(RecyclerView.RecycledViewPool pool) {
+        if (recyclerPagingEngine != null) {
+            recyclerPagingEngine.setRecycledViewPool(pool);
+        }
+    }
+
     /**
      * A method for giving this SwipeSelector something to show.
      *
@@ -170,9 +467,122 @@ public class SwipeSelector extends FrameLayout {
      * inside this view.
      */
     public void setItems(SwipeItem... swipeItems) {
+        cancelPendingItems();
         adapter.setItems(Arrays.asList(swipeItems));
     }
 
+    /**
+     * Show other items in this SwipeSelector and select one of them, reusing the pages
+     * it already has. Meant for SwipeSelectors in the rows of a RecyclerView or a ListView,
+     * where every row gets bound over and over again while scrolling: unlike
+     * {@link #setItems(SwipeItem...)}, this doesn't tear down and inflate the pages again,
+     * and the selection isn't reset to the first item.
+     *
+     * No {@link OnSwipeItemSelectedListener} gets called for the given selection.
+     * The list shouldn't be modified after it's been given to this SwipeSelector.
+     *
+     * @param items the {@link SwipeItem}s to show.
+     * @param selectedPosition the position of the item to select, for example
+     *                         the one the user selected the last time this row
+     *                         was showing.
+     */
+    public void bind(@NonNull List<SwipeItem> items, int selectedPosition) {
+        cancelPendingItems();
+        adapter.bind(items, selectedPosition);
+    }
+
+    /**
+     * Recycle the pages of this SwipeSelector through the same pool as another
+     * SwipeSelector, for example the one in the first row of a list. All the
+     * SwipeSelectors in the same list sharing one pool means pages leaving the
+     * screen with one row get reused by the next, instead of each one inflating
+     * its own. With the "recyclerView" paging engine, the RecycledViewPool is
+     * shared as well.
+     *
+     * @param other the SwipeSelector whose pool to use.
+     * @throws IllegalArgumentException if only one of the SwipeSelectors flattens
+     * its item views, in which case their pages aren't interchangeable.
+     */
+    public void sharePagePoolWith(@NonNull SwipeSelector other) {
+        adapter.setPagePool(other.adapter.getPagePool());
+
+        if (recyclerPagingEngine != null && other.recyclerPagingEngine != null) {
+            recyclerPagingEngine.setRecycledViewPool(other.recyclerPagingEngine.getRecycledViewPool());
+        }
+    }
+
+    /**
+     * Replace the items of this SwipeSelector with new ones, without starting over. The
+     * new items are compared to the current ones by their values on a background thread,
+     * and only the pages of the items that were added, removed, moved or changed get touched.
+     * The selected item stays selected, unless it was removed.
+     *
+     * @param swipeItems the new {@link SwipeItem}s.
+     */
+    public void updateItems(SwipeItem... swipeItems) {
+        cancelPendingItems();
+        adapter.updateItems(new ArrayList<>(Arrays.asList(swipeItems)));
+    }
+
+    /**
+     * Notify this SwipeSelector that items were inserted to its {@link SwipeItemSource}.
+     *
+     * @param positionStart the position of the first inserted item.
+     * @param itemCount how many items were inserted.
+     */
+    public void notifyItemsInserted(int positionStart, int itemCount) {
+        adapter.notifyItemsInserted(positionStart, itemCount);
+    }
+
+    /**
+     * Notify this SwipeSelector that items were removed from its {@link SwipeItemSource}.
+     *
+     * @param positionStart the position the first removed item was at.
+     * @param itemCount how many items were removed.
+     */
+    public void notifyItemsRemoved(int positionStart, int itemCount) {
+        adapter.notifyItemsRemoved(positionStart, itemCount);
+    }
+
+    /**
+     * Notify this SwipeSelector that an item in its {@link SwipeItemSource} moved.
+     *
+     * @param fromPosition the position the item was at.
+     * @param toPosition the position the item is at now.
+     */
+    public void notifyItemMoved(int fromPosition, int toPosition) {
+        adapter.notifyItemMoved(fromPosition, toPosition);
+    }
+
+    /**
+     * Notify this SwipeSelector that the titles or descriptions of items in its
+     * {@link SwipeItemSource} changed.
+     *
+     * @param positionStart the position of the first changed item.
+     * @param itemCount how many items changed.
+     */
+    public void notifyItemsChanged(int positionStart, int itemCount) {
+        adapter.notifyItemsChanged(positionStart, itemCount);
+    }
+
+    /**
+     * Give this SwipeSelector a source to read its items from on demand, instead of
+     * creating all the items up front with {@link #setItems(SwipeItem...)}. Only the
+     * items around the current selection are kept in memory.
+     *
+     * Selecting by value with a source has to go through the items one by one, since
+     * there's no index of values without creating every item. For lots of items, a
+     * {@link CompactSwipeItemStore} keeps them all in memory, but in a fraction of the
+     * space, and can be searched by value without creating the items.
+     *
+     * @param source the {@link SwipeItemSource}, or an {@link AsyncSwipeItemSource}
+     *               for loading the items asynchronously.
+     */
+    public void setItemSource(@NonNull SwipeItemSource source) {
+        cancelPendingItems();
+        adapter.setItemSource(source);
+    }
+
     /**
      * Determine whether this SwipeSelector has a selected item, or if the currently visible
      * item is just a unselected state item.
@@ -190,6 +600,8 @@ public class SwipeSelector extends FrameLayout {
      * @return the selected slides' SwipeItem.
      */
     public SwipeItem getSelectedItem() {
+        inflatePendingXmlItems();
+
         if (adapter.getCount() == 0) {
             throw new UnsupportedOperationException("The SwipeSelector " +
                     "doesn't have any items! Use the setItems() method " +
@@ -215,6 +627,7 @@ public class SwipeSelector extends FrameLayout {
      * @param animate should the change be animated or not.
      */
     public void selectItemAt(int position, boolean animate) {
+        inflatePendingXmlItems();
         adapter.selectItemAt(position, animate);
     }
 
@@ -262,13 +675,136 @@ public class SwipeSelector extends FrameLayout {
      * @param animate should the change be animated or not.
      */
     public void selectItemWithValue(@NonNull String value, boolean animate) {
+        inflatePendingXmlItems();
         adapter.selectItemWithValue(value, animate);
     }
 
+    /**
+     * Check if this SwipeSelector has an item with the specified value.
+     *
+     * @param value the value to look for.
+     * @return true if an item with the value exists, false otherwise.
+     */
+    public boolean containsValue(String value) {
+        return positionOfValue(value) != -1;
+    }
+
+    /**
+     * Find the position of the item that has the specified value. If more than
+     * one item has the same value, the position of the first one is returned.
+     *
+     * @param value the value to look for.
+     * @return the position of the item, or -1 if there's no item with the value.
+     */
+    public int positionOfValue(String value) {
+        inflatePendingXmlItems();
+        return adapter.positionOfValue(value);
+    }
+
+    /**
+     * Find the first item with a title that starts with the given prefix, ignoring
+     * the case. Meant for jumping straight to an item when there are too many to
+     * swipe through, for example as the user types. The titles are indexed on a
+     * background thread whenever the items change, so searches are fast even with
+     * lots of items. Searching before the index is ready waits for it.
+     *
+     * Items from a {@link SwipeItemSource} can only be searched if it's a
+     * {@link CompactSwipeItemStore}, since indexing any other source would create
+     * every item on the main thread.
+     *
+     * @param prefix the beginning of the title to look for.
+     * @return the position of the item, or -1 if there's no such item or the
+     * prefix is empty.
+     * @throws UnsupportedOperationException if the items come from a
+     * {@link SwipeItemSource} other than a {@link CompactSwipeItemStore}.
+     */
+    public int positionOfTitlePrefix(@NonNull String prefix) {
+        inflatePendingXmlItems();
+        return adapter.positionOfTitlePrefix(prefix);
+    }
+
+    /**
+     * Find the first item with a title that contains the given text, ignoring the
+     * case. Unlike {@link #positionOfTitlePrefix(String)}, this goes through all the
+     * titles, so it gets slower the more items there are.
+     *
+     * @param text the part of the title to look for.
+     * @return the position of the item, or -1 if there's no such item or the
+     * text is empty.
+     * @throws UnsupportedOperationException if the items come from a
+     * {@link SwipeItemSource} other than a {@link CompactSwipeItemStore}.
+     */
+    public int positionOfTitleContaining(@NonNull String text) {
+        inflatePendingXmlItems();
+        return adapter.positionOfTitleContaining(text);
+    }
+
+    /**
+     * Select the first item with a title that starts with the given text, or if
+     * there's none, the first one with a title that contains it, ignoring the case.
+     * The selection jumps straight to the item, without animating through the ones
+     * in between.
+     *
+     * @param query the text to look for in the titles.
+     * @return true if an item was found and selected, false otherwise.
+     * @throws UnsupportedOperationException if the items come from a
+     * {@link SwipeItemSource} other than a {@link CompactSwipeItemStore}.
+     */
+    public boolean selectItemWithTitle(@NonNull String query) {
+        int position = positionOfTitlePrefix(query);
+
+        if (position == -1) {
+            position = positionOfTitleContaining(query);
+        }
+
+        if (position == -1) {
+            return false;
+        }
+
+        adapter.selectItemAt(position, false);
+        return true;
+    }
+
+    /**
+     * Set whether this SwipeSelector saves its items along with the selected position,
+     * so when it's recreated, for example after a configuration change, the items come
+     * back without parsing the items XML again or setting them again in code. Items from
+     * a {@link SwipeItemSource} are never saved, and neither are too many items to fit
+     * in the saved state comfortably. Those are parsed or set again as usual.
+     *
+     * The saved items are only restored if the app hasn't given this SwipeSelector any
+     * items of its own by then, for example in onCreate(), and it isn't loading them
+     * asynchronously. Items given in code are always kept, and loads are never cancelled.
+     *
+     * Each SwipeSelector can add up to about 64 KB to the saved state, and the saved
+     * state of the whole app has to fit in a single binder transaction of about 1 MB,
+     * so only turn this on for a few SwipeSelectors per screen. Only the attribute
+     * keeps the items XML from being parsed before the state is restored.
+     *
+     * The same can be done in XML with the "swipe_saveItemsInState" attribute.
+     * The default is false.
+     *
+     * @param savesItemsInState true to save the items, false to save only the position.
+     */
+    public void setSavesItemsInState(boolean savesItemsInState) {
+        this.savesItemsInState = savesItemsInState;
+    }
+
     @Override
     public Parcelable onSaveInstanceState() {
         Bundle bundle = adapter.onSaveInstanceState();
         bundle.putParcelable(STATE_SELECTOR, super.onSaveInstanceState());
+
+        List<SwipeItem> items = adapter.getItemList();
+
+        if (savesItemsInState && items != null && !items.isEmpty()) {
+            Bundle savedItems = SavedItems.save(items, SavedItems.DEFAULT_MAX_BYTES);
+
+            if (savedItems != null) {
+                bundle.putBundle(STATE_ITEMS, savedItems);
+            }
+        }
+
         return bundle;
     }
 
@@ -276,6 +812,15 @@ public class SwipeSelector extends FrameLayout {
     public void onRestoreInstanceState(Parcelable state) {
         if (state instanceof Bundle) {//Shouldn't be needed, just in case
             Bundle bundle = (Bundle) state;
+            Bundle savedItems = bundle.getBundle(STATE_ITEMS);
+
+            if (savedItems != null && !hasItemsFromCode && !isLoadingItems()) {
+                hasPendingXmlItems = false;
+                adapter.setItems(SavedItems.restore(getContext(), savedItems));
+            } else {
+                inflatePendingXmlItems();
+            }
+
             adapter.onRestoreInstanceState(bundle);
             state = bundle.getParcelable(STATE_SELECTOR);
         }
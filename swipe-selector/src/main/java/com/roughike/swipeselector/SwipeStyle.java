@@ -0,0 +1,210 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
+import android.util.AttributeSet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * All the attributes of a SwipeSelector, resolved once and shared by every
+ * SwipeSelector with the same theme and attributes.
+ *
+ * Resolving the attributes means going through obtainStyledAttributes, color
+ * resources and dp conversions, and decoding the button drawables just to get
+ * their widths. A screen full of SwipeSelectors sharing a style only has to do
+ * all of that for the first one. Instances are immutable, and only created and
+ * looked up on the main thread.
+ */
+final class SwipeStyle {
+    private static final int DEFAULT_INDICATOR_SIZE = 6;
+    private static final int DEFAULT_INDICATOR_MARGIN = 8;
+
+    // The themes are weak keys, so the styles go away with the Activity they belong to.
+    // Within a theme, the styles are kept by the configuration they were resolved for.
+    private static final Map<Resources.Theme, Map<Configuration, Map<String, SwipeStyle>>> cache =
+            new WeakHashMap<>();
+
+    final int itemsXmlResource;
+    final boolean loadItemsAsync;
+    final String unselectedItemTitle;
+    final String unselectedItemDescription;
+
+    final int indicatorSize;
+    final int indicatorMargin;
+    final int inActiveIndicatorColor;
+    final int activeIndicatorColor;
+
+    final int leftButtonResource;
+    final int rightButtonResource;
+    final int leftButtonWidth;
+    final int rightButtonWidth;
+
+    final String customFontPath;
+    final int titleTextAppearance;
+    final int descriptionTextAppearance;
+    final int descriptionGravity;
+    final boolean pinHeightToTallestItem;
+    final int pagingEngine;
+    final int preinflatedPages;
+    final boolean flattenItemViews;
+    final boolean saveItemsInState;
+    final int longJumpDistance;
+
+    // Every SwipeSelector gets its own indicator drawables, but they all share these states.
+    private final Drawable.ConstantState activeIndicatorState;
+    private final Drawable.ConstantState inActiveIndicatorState;
+
+    private SwipeStyle(Context context, TypedArray ta) {
+        itemsXmlResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_itemsXmlResource, 0);
+        loadItemsAsync = ta.getBoolean(R.styleable.SwipeSelector_swipe_loadItemsAsync, false);
+        unselectedItemTitle = ta.getString(R.styleable.SwipeSelector_swipe_unselectedItemTitle);
+        unselectedItemDescription = ta.getString(R.styleable.SwipeSelector_swipe_unselectedItemDescription);
+
+        indicatorSize = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorSize,
+                PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_SIZE));
+        indicatorMargin = (int) ta.getDimension(R.styleable.SwipeSelector_swipe_indicatorMargin,
+                PixelUtils.dpToPixel(context, DEFAULT_INDICATOR_MARGIN));
+        inActiveIndicatorColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorInActiveColor,
+                ContextCompat.getColor(context, R.color.swipeselector_color_indicator_inactive));
+        activeIndicatorColor = ta.getColor(R.styleable.SwipeSelector_swipe_indicatorActiveColor,
+                ContextCompat.getColor(context, R.color.swipeselector_color_indicator_active));
+
+        leftButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_leftButtonResource,
+                R.drawable.ic_action_navigation_chevron_left);
+        rightButtonResource = ta.getResourceId(R.styleable.SwipeSelector_swipe_rightButtonResource,
+                R.drawable.ic_action_navigation_chevron_right);
+        leftButtonWidth = ContextCompat.getDrawable(context, leftButtonResource).getIntrinsicWidth();
+        rightButtonWidth = ContextCompat.getDrawable(context, rightButtonResource).getIntrinsicWidth();
+
+        customFontPath = ta.getString(R.styleable.SwipeSelector_swipe_customFontPath);
+        titleTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_titleTextAppearance,
+                -1);
+        descriptionTextAppearance = ta.getResourceId(R.styleable.SwipeSelector_swipe_descriptionTextAppearance,
+                -1);
+        descriptionGravity = ta.getInteger(R.styleable.SwipeSelector_swipe_descriptionGravity,
+                -1);
+        pinHeightToTallestItem = ta.getBoolean(R.styleable.SwipeSelector_swipe_pinHeightToTallestItem,
+                false);
+        pagingEngine = ta.getInt(R.styleable.SwipeSelector_swipe_pagingEngine,
+                PagingEngine.VIEW_PAGER);
+        preinflatedPages = ta.getInt(R.styleable.SwipeSelector_swipe_preinflatedPages, -1);
+        flattenItemViews = ta.getBoolean(R.styleable.SwipeSelector_swipe_flattenItemViews, false);
+        saveItemsInState = ta.getBoolean(R.styleable.SwipeSelector_swipe_saveItemsInState, false);
+        longJumpDistance = ta.getInt(R.styleable.SwipeSelector_swipe_longJumpDistance, -1);
+
+        activeIndicatorState = Indicator.newOne(indicatorSize, activeIndicatorColor).getConstantState();
+        inActiveIndicatorState = Indicator.newOne(indicatorSize, inActiveIndicatorColor).getConstantState();
+    }
+
+    /**
+     * Gets the resolved style for a SwipeSelector, from the cache if another SwipeSelector
+     * with the same theme and attributes has already resolved it.
+     *
+     * @param context the Context of the SwipeSelector, which provides the theme.
+     * @param attrs the attributes of the SwipeSelector, can be null.
+     */
+    static SwipeStyle obtain(Context context, AttributeSet attrs) {
+        Resources.Theme theme = context.getTheme();
+        Configuration configuration = context.getResources().getConfiguration();
+        Map<Configuration, Map<String, SwipeStyle>> themeStyles = cache.get(theme);
+
+        if (themeStyles == null) {
+            themeStyles = new HashMap<>();
+            cache.put(theme, themeStyles);
+        }
+
+        Map<String, SwipeStyle> configurationStyles = themeStyles.get(configuration);
+
+        if (configurationStyles == null) {
+            // A copy, since the Resources change their configuration in place.
+            configurationStyles = new HashMap<>();
+            themeStyles.put(new Configuration(configuration), configurationStyles);
+        }
+
+        String key = createKey(attrs);
+        SwipeStyle style = configurationStyles.get(key);
+
+        if (style == null) {
+            TypedArray ta = theme.obtainStyledAttributes(attrs, R.styleable.SwipeSelector, 0, 0);
+
+            try {
+                style = new SwipeStyle(context, ta);
+            } finally {
+                ta.recycle();
+            }
+
+            configurationStyles.put(key, style);
+        }
+
+        return style;
+    }
+
+    Drawable newActiveIndicator() {
+        return activeIndicatorState.newDrawable();
+    }
+
+    Drawable newInActiveIndicator() {
+        return inActiveIndicatorState.newDrawable();
+    }
+
+    /**
+     * The raw values of the SwipeSelector attributes and the style identify a style
+     * within a theme and a configuration. Reading the raw values is a lot cheaper
+     * than resolving them.
+     */
+    private static String createKey(AttributeSet attrs) {
+        if (attrs == null) {
+            return "";
+        }
+
+        StringBuilder key = new StringBuilder();
+        key.append(attrs.getStyleAttribute());
+
+        for (int i = 0; i < attrs.getAttributeCount(); i++) {
+            int nameResource = attrs.getAttributeNameResource(i);
+
+            if (isSwipeSelectorAttribute(nameResource)) {
+                key.append('|')
+                        .append(nameResource)
+                        .append('=')
+                        .append(attrs.getAttributeValue(i));
+            }
+        }
+
+        return key.toString();
+    }
+
+    private static boolean isSwipeSelectorAttribute(int nameResource) {
+        for (int attribute : R.styleable.SwipeSelector) {
+            if (attribute == nameResource) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
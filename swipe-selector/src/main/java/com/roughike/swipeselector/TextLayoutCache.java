@@ -0,0 +1,332 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.support.v4.util.LruCache;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.method.TransformationMethod;
+import android.view.View;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Lays out the titles and descriptions of the pages on a background thread,
+ * before the pages are needed.
+ *
+ * Building the layouts off the main thread also fills the platform's text
+ * measurement caches, so the TextViews on the pages mostly hit the cache when
+ * they get measured. The finished layouts are cached per item, and they're only
+ * valid for the text style and the width they were built with.
+ *
+ * The layouts are also what {@link SwipeItemView} draws, so they're built the same
+ * way the TextViews would lay out the text, including transformations like all caps.
+ */
+final class TextLayoutCache {
+    private static final int CACHE_SIZE = 16;
+
+    private final LruCache<SwipeItem, PageTextLayouts> layouts = new LruCache<>(CACHE_SIZE);
+    private final Executor executor;
+
+    // Changing the style or the width makes everything built before it useless.
+    // The generation tells the background tasks their results went stale.
+    private volatile int generation;
+
+    private TextPaint titlePaint;
+    private TextPaint descriptionPaint;
+    private Layout.Alignment descriptionAlignment;
+    private LineStyle titleLines;
+    private LineStyle descriptionLines;
+    private TextTransformation titleTransformation;
+    private TextTransformation descriptionTransformation;
+    private int width;
+
+    TextLayoutCache(Executor executor) {
+        this.executor = executor;
+    }
+
+    boolean hasTextStyle() {
+        return titlePaint != null;
+    }
+
+    /**
+     * Sets the paints the text is laid out with. The paints are copied, so the
+     * originals can keep changing on the main thread.
+     *
+     * @param titleLines how the title TextView breaks its text into lines.
+     * @param descriptionLines how the description TextView breaks its text into lines.
+     */
+    void setTextStyle(TextPaint titlePaint, TextPaint descriptionPaint,
+                      Layout.Alignment descriptionAlignment,
+                      LineStyle titleLines, LineStyle descriptionLines) {
+        this.titlePaint = new TextPaint(titlePaint);
+        this.descriptionPaint = new TextPaint(descriptionPaint);
+        this.descriptionAlignment = descriptionAlignment;
+        this.titleLines = titleLines;
+        this.descriptionLines = descriptionLines;
+        invalidate();
+    }
+
+    /**
+     * Sets the transformations the TextViews apply to their text, such as all caps
+     * from a text appearance.
+     *
+     * @param titleView the TextView showing titles, or null if there's no transformation.
+     * @param descriptionView the TextView showing descriptions, or null.
+     */
+    void setTransformations(View titleView, TransformationMethod title,
+                            View descriptionView, TransformationMethod description) {
+        titleTransformation = title != null ? new TextTransformation(title, titleView) : null;
+        descriptionTransformation = description != null
+                ? new TextTransformation(description, descriptionView)
+                : null;
+        invalidate();
+    }
+
+    /**
+     * @param width the width available for the text on a page.
+     */
+    void setWidth(int width) {
+        if (this.width != width) {
+            this.width = width;
+            invalidate();
+        }
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    void invalidate() {
+        generation++;
+        layouts.evictAll();
+    }
+
+    /**
+     * @return the layouts for the item, or null if they haven't been built yet.
+     */
+    PageTextLayouts get(SwipeItem item) {
+        return layouts.get(item);
+    }
+
+    /**
+     * Gets the layouts for the item right away, building them on the calling thread
+     * if they're not cached. Only call this from the main thread.
+     *
+     * @param width the width available for the text.
+     * @return the layouts, or null if there's no text style yet.
+     */
+    PageTextLayouts obtain(SwipeItem item, int width) {
+        PageTextLayouts cached = layouts.get(item);
+
+        if (cached != null && cached.width == width) {
+            return cached;
+        }
+
+        if (titlePaint == null) {
+            return null;
+        }
+
+        PageTextLayouts built = build(item, width, titlePaint, descriptionPaint,
+                descriptionAlignment, titleLines, descriptionLines,
+                titleTransformation, descriptionTransformation);
+
+        if (width == this.width) {
+            layouts.put(item, built);
+        }
+
+        return built;
+    }
+
+    /**
+     * Builds the layouts for the items in the given range in the background,
+     * skipping the ones that are already cached or still loading. Positions out of
+     * bounds are ignored.
+     */
+    void precompute(ItemWindow items, int fromPosition, int toPosition) {
+        if (titlePaint == null || width <= 0) {
+            return;
+        }
+
+        final List<SwipeItem> pending = new ArrayList<>();
+
+        for (int i = Math.max(0, fromPosition); i <= Math.min(items.getCount() - 1, toPosition); i++) {
+            SwipeItem item = items.peek(i);
+
+            if (item != null && layouts.get(item) == null) {
+                pending.add(item);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        final int taskGeneration = generation;
+        final int taskWidth = width;
+        final TextPaint taskTitlePaint = new TextPaint(titlePaint);
+        final TextPaint taskDescriptionPaint = new TextPaint(descriptionPaint);
+        final Layout.Alignment taskDescriptionAlignment = descriptionAlignment;
+        final LineStyle taskTitleLines = titleLines;
+        final LineStyle taskDescriptionLines = descriptionLines;
+        final TextTransformation taskTitleTransformation = titleTransformation;
+        final TextTransformation taskDescriptionTransformation = descriptionTransformation;
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (SwipeItem item : pending) {
+                    if (taskGeneration != generation) {
+                        return;
+                    }
+
+                    PageTextLayouts built = build(item, taskWidth, taskTitlePaint,
+                            taskDescriptionPaint, taskDescriptionAlignment,
+                            taskTitleLines, taskDescriptionLines, taskTitleTransformation, taskDescriptionTransformation);
+
+                    if (taskGeneration == generation) {
+                        layouts.put(item, built);
+                    }
+                }
+            }
+        });
+    }
+
+    private static PageTextLayouts build(SwipeItem item, int width, TextPaint titlePaint,
+                                         TextPaint descriptionPaint,
+                                         Layout.Alignment descriptionAlignment,
+                                         LineStyle titleLines, LineStyle descriptionLines,
+                                         TextTransformation titleTransformation,
+                                         TextTransformation descriptionTransformation) {
+        // The title TextView has the default alignment, and gets centered as a whole.
+        Layout title = newLayout(transform(item.getTitle(), titleTransformation),
+                titlePaint, width, Layout.Alignment.ALIGN_NORMAL, titleLines);
+        Layout description = newLayout(transform(item.getDescription(), descriptionTransformation),
+                descriptionPaint, width, descriptionAlignment, descriptionLines);
+
+        return new PageTextLayouts(width, title, description);
+    }
+
+    private static CharSequence transform(CharSequence text, TextTransformation transformation) {
+        if (text == null || transformation == null) {
+            return text;
+        }
+
+        return transformation.method.getTransformation(text, transformation.view);
+    }
+
+    /**
+     * The layouts have to break the lines exactly like the TextViews, since their heights
+     * stand in for measuring the pages. On Marshmallow and up, that means the same break
+     * strategy and hyphenation, which the old StaticLayout constructor can't do.
+     */
+    @SuppressWarnings("deprecation")
+    private static Layout newLayout(CharSequence text, TextPaint paint, int width,
+                                    Layout.Alignment alignment, LineStyle lines) {
+        if (text == null) {
+            return null;
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return newLayoutApi23(text, paint, width, alignment, lines);
+        }
+
+        return new StaticLayout(text, paint, width, alignment,
+                lines.spacingMultiplier, lines.spacingExtra, lines.includeFontPadding);
+    }
+
+    @TargetApi(Build.VERSION_CODES.M)
+    private static Layout newLayoutApi23(CharSequence text, TextPaint paint, int width,
+                                         Layout.Alignment alignment, LineStyle lines) {
+        return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                .setAlignment(alignment)
+                .setLineSpacing(lines.spacingExtra, lines.spacingMultiplier)
+                .setIncludePad(lines.includeFontPadding)
+                .setBreakStrategy(lines.breakStrategy)
+                .setHyphenationFrequency(lines.hyphenationFrequency)
+                .build();
+    }
+
+    /**
+     * How a TextView breaks its text into lines and spaces them.
+     */
+    static final class LineStyle {
+        final float spacingMultiplier;
+        final float spacingExtra;
+        final boolean includeFontPadding;
+        final int breakStrategy;
+        final int hyphenationFrequency;
+
+        private LineStyle(float spacingMultiplier, float spacingExtra, boolean includeFontPadding,
+                          int breakStrategy, int hyphenationFrequency) {
+            this.spacingMultiplier = spacingMultiplier;
+            this.spacingExtra = spacingExtra;
+            this.includeFontPadding = includeFontPadding;
+            this.breakStrategy = breakStrategy;
+            this.hyphenationFrequency = hyphenationFrequency;
+        }
+
+        /**
+         * Before Jelly Bean, the TextView can't be asked, so it's assumed to use
+         * the defaults. Before Marshmallow, there are no break strategies or hyphenation.
+         */
+        @TargetApi(Build.VERSION_CODES.M)
+        static LineStyle of(TextView textView) {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+                return new LineStyle(1f, 0f, true, 0, 0);
+            }
+
+            boolean hasBreakStrategies = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+
+            return new LineStyle(
+                    textView.getLineSpacingMultiplier(),
+                    textView.getLineSpacingExtra(),
+                    textView.getIncludeFontPadding(),
+                    hasBreakStrategies ? textView.getBreakStrategy() : 0,
+                    hasBreakStrategies ? textView.getHyphenationFrequency() : 0);
+        }
+    }
+
+    private static final class TextTransformation {
+        final TransformationMethod method;
+        final View view;
+
+        TextTransformation(TransformationMethod method, View view) {
+            this.method = method;
+            this.view = view;
+        }
+    }
+
+    static final class PageTextLayouts {
+        final int width;
+        final Layout title;
+        final Layout description;
+
+        PageTextLayouts(int width, Layout title, Layout description) {
+            this.width = width;
+            this.title = title;
+            this.description = description;
+        }
+    }
+}
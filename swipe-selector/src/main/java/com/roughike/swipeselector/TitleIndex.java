@@ -0,0 +1,154 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Finds items by the beginning of their titles, or by any part of them, ignoring
+ * the case. The titles are kept case folded and sorted, so finding one by its
+ * beginning is a binary search instead of going through all of them.
+ */
+final class TitleIndex {
+    // Folded titles in the order of the items, null for items that can't be found.
+    private final String[] titles;
+
+    // The same titles sorted, without the nulls, and the positions they belong to.
+    private final String[] sortedTitles;
+    private final int[] sortedPositions;
+
+    private TitleIndex(String[] titles, String[] sortedTitles, int[] sortedPositions) {
+        this.titles = titles;
+        this.sortedTitles = sortedTitles;
+        this.sortedPositions = sortedPositions;
+    }
+
+    /**
+     * @param titles the titles in the order of the items. Items with a null title
+     *               are never found.
+     */
+    static TitleIndex build(String[] titles) {
+        final String[] folded = new String[titles.length];
+        int searchableCount = 0;
+
+        for (int i = 0; i < titles.length; i++) {
+            if (titles[i] != null) {
+                folded[i] = fold(titles[i]);
+                searchableCount++;
+            }
+        }
+
+        Integer[] order = new Integer[searchableCount];
+
+        for (int i = 0, next = 0; i < folded.length; i++) {
+            if (folded[i] != null) {
+                order[next++] = i;
+            }
+        }
+
+        // Stable, so the items with the same title stay in their own order.
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer lhs, Integer rhs) {
+                return folded[lhs].compareTo(folded[rhs]);
+            }
+        });
+
+        String[] sortedTitles = new String[searchableCount];
+        int[] sortedPositions = new int[searchableCount];
+
+        for (int i = 0; i < searchableCount; i++) {
+            sortedTitles[i] = folded[order[i]];
+            sortedPositions[i] = order[i];
+        }
+
+        return new TitleIndex(folded, sortedTitles, sortedPositions);
+    }
+
+    /**
+     * Not depending on the default locale, so the same title folds the same way
+     * everywhere. Locale.US instead of Locale.ROOT, which is API level 9.
+     */
+    static String fold(String text) {
+        return text.toLowerCase(Locale.US);
+    }
+
+    /**
+     * @return the first position with a title starting with the prefix, or -1
+     * if there's no such item, or if the prefix is empty.
+     */
+    int positionOfPrefix(String prefix) {
+        if (prefix.length() == 0) {
+            return -1;
+        }
+
+        String foldedPrefix = fold(prefix);
+        int position = -1;
+
+        for (int i = lowerBound(foldedPrefix); i < sortedTitles.length
+                && sortedTitles[i].startsWith(foldedPrefix); i++) {
+            if (position == -1 || sortedPositions[i] < position) {
+                position = sortedPositions[i];
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * @return the first position with a title containing the text, or -1 if
+     * there's no such item, or if the text is empty.
+     */
+    int positionOfSubstring(String text) {
+        if (text.length() == 0) {
+            return -1;
+        }
+
+        String foldedText = fold(text);
+
+        for (int i = 0; i < titles.length; i++) {
+            if (titles[i] != null && titles[i].contains(foldedText)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the index of the first sorted title that isn't less than the key.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = sortedTitles.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (sortedTitles[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
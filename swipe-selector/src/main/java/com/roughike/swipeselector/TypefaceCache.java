@@ -0,0 +1,77 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Typeface;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the custom fonts loaded from assets, so every SwipeSelector using the
+ * same font shares a single Typeface, instead of each one loading and parsing
+ * the font file again. Safe to use from any thread.
+ */
+final class TypefaceCache {
+    private static final Map<String, Typeface> typefaces = new HashMap<>();
+
+    private TypefaceCache() {
+    }
+
+    /**
+     * Gets the Typeface for the given asset path, loading it if this is the first
+     * time it's needed. If another thread is loading the same font, waits for it
+     * instead of loading the font twice.
+     *
+     * @param context any Context, only the application's assets are used.
+     * @param assetPath the path to the font inside the assets folder.
+     * @return the shared Typeface.
+     */
+    static Typeface get(Context context, String assetPath) {
+        synchronized (typefaces) {
+            Typeface typeface = typefaces.get(assetPath);
+
+            if (typeface == null) {
+                AssetManager assets = context.getApplicationContext().getAssets();
+                typeface = Typeface.createFromAsset(assets, assetPath);
+                typefaces.put(assetPath, typeface);
+            }
+
+            return typeface;
+        }
+    }
+
+    /**
+     * Loads the fonts on a background thread, so they're ready when the first
+     * SwipeSelector needs them.
+     */
+    static void preload(Context context, final String... assetPaths) {
+        final Context applicationContext = context.getApplicationContext();
+
+        SwipeExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (String assetPath : assetPaths) {
+                    get(applicationContext, assetPath);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the values of {@link SwipeItem}s to their positions, so items can be
+ * found by value without looping through all of them.
+ *
+ * If the same value appears more than once, the first position wins, just
+ * like it did with a linear search. The duplicates are collected while
+ * building the index, so they can be reported once.
+ */
+final class ValueIndex {
+    static final ValueIndex EMPTY = new ValueIndex(
+            Collections.<String, Integer>emptyMap(), Collections.<String>emptyList());
+
+    private final Map<String, Integer> positions;
+    private final List<String> duplicateValues;
+
+    private ValueIndex(Map<String, Integer> positions, List<String> duplicateValues) {
+        this.positions = positions;
+        this.duplicateValues = duplicateValues;
+    }
+
+    static ValueIndex build(List<SwipeItem> items) {
+        Map<String, Integer> positions = new HashMap<>(items.size() * 4 / 3 + 1);
+        List<String> duplicateValues = null;
+
+        for (int i = 0; i < items.size(); i++) {
+            String value = items.get(i).getValue();
+
+            if (positions.containsKey(value)) {
+                if (duplicateValues == null) {
+                    duplicateValues = new ArrayList<>();
+                }
+
+                duplicateValues.add(value);
+                continue;
+            }
+
+            positions.put(value, i);
+        }
+
+        return new ValueIndex(positions, duplicateValues != null
+                ? duplicateValues : Collections.<String>emptyList());
+    }
+
+    /**
+     * @param value the value to look for, can be null.
+     * @return the first position with the given value, or -1 if there's no such item.
+     */
+    int positionOf(String value) {
+        Integer position = positions.get(value);
+        return position != null ? position : -1;
+    }
+
+    List<String> getDuplicateValues() {
+        return duplicateValues;
+    }
+}
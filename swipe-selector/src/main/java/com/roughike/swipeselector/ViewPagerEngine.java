@@ -0,0 +1,81 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.support.v4.view.ViewPager;
+import android.view.ViewGroup;
+
+/**
+ * Pages with a ViewPager, which uses {@link SwipeAdapter} directly as its PagerAdapter.
+ * The adapter tells the pager where the pages moved through getItemPosition.
+ */
+final class ViewPagerEngine implements PagingEngine {
+    private final ViewPager viewPager;
+    private SwipeAdapter adapter;
+
+    ViewPagerEngine(ViewPager viewPager) {
+        this.viewPager = viewPager;
+    }
+
+    @Override
+    public ViewGroup getView() {
+        return viewPager;
+    }
+
+    @Override
+    public void attach(SwipeAdapter adapter) {
+        this.adapter = adapter;
+        viewPager.setAdapter(adapter);
+    }
+
+    @Override
+    public void addOnPageChangeListener(ViewPager.OnPageChangeListener listener) {
+        viewPager.addOnPageChangeListener(listener);
+    }
+
+    @Override
+    public void setCurrentItem(int position, boolean smoothScroll) {
+        viewPager.setCurrentItem(position, smoothScroll);
+    }
+
+    @Override
+    public int getCurrentItem() {
+        return viewPager.getCurrentItem();
+    }
+
+    @Override
+    public int getOffscreenPageLimit() {
+        return viewPager.getOffscreenPageLimit();
+    }
+
+    @Override
+    public void onItemsReset() {
+        notifyAdapter();
+    }
+
+    @Override
+    public void onItemsUpdated(SwipeItemDiff.Result update) {
+        notifyAdapter();
+    }
+
+    private void notifyAdapter() {
+        if (adapter != null) {
+            adapter.notifyDataSetChanged();
+        }
+    }
+}
@@ -18,12 +18,24 @@
 package com.roughike.swipeselector;
 
 import android.content.Context;
+import android.support.v4.util.LruCache;
 import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
 import android.view.View;
 
 
 public class WrappingPager extends ViewPager {
+    private static final int MEASURE_CACHE_SIZE = 32;
+
+    // Measured heights of the pages, keyed by the identity of the item bound to the page.
+    // Only valid for cachedWidthMeasureSpec.
+    private final LruCache<SwipeItem, Integer> measuredHeights = new LruCache<>(MEASURE_CACHE_SIZE);
+    private int cachedWidthMeasureSpec;
+    private boolean hasCachedWidth;
+
+    private boolean pinsHeightToTallestItem;
+    private int pinnedHeight = -1;
+
     public WrappingPager(Context context) {
         super(context);
     }
@@ -32,20 +44,110 @@ public class WrappingPager extends ViewPager {
         super(context, attrs);
     }
 
+    /**
+     * When pinned, the height of this pager is the height of the tallest item
+     * in the whole dataset, instead of the tallest page instantiated so far.
+     * This stops the height from jumping around while swiping, but measures
+     * every item once when the items or the width change.
+     *
+     * @param pinsHeightToTallestItem true to pin the height, false to wrap the current pages.
+     */
+    public void setPinsHeightToTallestItem(boolean pinsHeightToTallestItem) {
+        if (this.pinsHeightToTallestItem != pinsHeightToTallestItem) {
+            this.pinsHeightToTallestItem = pinsHeightToTallestItem;
+            pinnedHeight = -1;
+            requestLayout();
+        }
+    }
+
+    /**
+     * Forgets all the cached page heights. Needs to be called whenever the
+     * content of the pages changes.
+     */
+    void invalidateMeasureCache() {
+        measuredHeights.evictAll();
+        pinnedHeight = -1;
+        requestLayout();
+    }
+
     /**
     * Copy-paste coding made possible by http://stackoverflow.com/a/20784791
+    *
+    * Measuring a page with unspecified height is the expensive part, so the results
+    * are cached until the width or the bound items change. When the adapter has
+    * already laid out the text of a page in the background, the height comes
+    * from there instead of measuring the page.
     */
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        SwipeMetrics metrics = getAdapter() instanceof SwipeAdapter
+                ? ((SwipeAdapter) getAdapter()).getMetrics()
+                : null;
+        long start = metrics != null ? System.nanoTime() : 0;
+
+        if (!hasCachedWidth || cachedWidthMeasureSpec != widthMeasureSpec) {
+            measuredHeights.evictAll();
+            pinnedHeight = -1;
+            cachedWidthMeasureSpec = widthMeasureSpec;
+            hasCachedWidth = true;
+
+            if (getAdapter() instanceof SwipeAdapter) {
+                ((SwipeAdapter) getAdapter()).onPagerMeasured(MeasureSpec.getSize(widthMeasureSpec));
+            }
+        }
+
+        int height;
+
+        if (pinsHeightToTallestItem && getAdapter() instanceof SwipeAdapter) {
+            if (pinnedHeight == -1) {
+                pinnedHeight = ((SwipeAdapter) getAdapter()).measureTallestPage(widthMeasureSpec);
+            }
+
+            height = pinnedHeight;
+        } else {
+            height = measureTallestChild(widthMeasureSpec);
+        }
+
+        heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+
+        if (metrics != null) {
+            metrics.recordSince(SwipeMetrics.MEASURE, start);
+        }
+    }
+
+    private int measureTallestChild(int widthMeasureSpec) {
         int height = 0;
         for (int i = 0; i < getChildCount(); i++) {
             View child = getChildAt(i);
-            child.measure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-            int h = child.getMeasuredHeight();
+            PageViewHolder holder = PageViewHolder.from(child);
+            SwipeItem item = holder != null ? holder.boundItem : null;
+            Integer cachedHeight = item != null ? measuredHeights.get(item) : null;
+            int h;
+
+            if (cachedHeight == null && item != null && getAdapter() instanceof SwipeAdapter) {
+                int precomputedHeight = ((SwipeAdapter) getAdapter())
+                        .getPrecomputedPageHeight(item, widthMeasureSpec);
+
+                if (precomputedHeight != -1) {
+                    cachedHeight = precomputedHeight;
+                    measuredHeights.put(item, precomputedHeight);
+                }
+            }
+
+            if (cachedHeight != null) {
+                h = cachedHeight;
+            } else {
+                child.measure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+                h = child.getMeasuredHeight();
+
+                if (item != null) {
+                    measuredHeights.put(item, h);
+                }
+            }
+
             if (h > height) height = h;
         }
-
-        heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY);
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        return height;
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Times operations for the benchmarks and writes the results as JSON, one file
+ * per benchmark class, so they can be compared between builds.
+ *
+ * Each operation is first run for a while to warm up, then timed in a number of
+ * runs long enough for the clock to be accurate. The results are in nanoseconds
+ * per operation.
+ */
+final class BenchmarkRecorder {
+    static final String OUTPUT_DIR_PROPERTY = "swipeselector.benchmark.output";
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+    private static final long MIN_RUN_NANOS = 20000000L;
+
+    interface Operation {
+        /**
+         * @return anything computed, so the work can't be optimized away.
+         */
+        Object run();
+    }
+
+    private final String suite;
+    private final List<String> results = new ArrayList<>();
+
+    // Everything the operations return ends up here.
+    private volatile int sink;
+
+    BenchmarkRecorder(Class<?> benchmarkClass) {
+        suite = benchmarkClass.getSimpleName();
+    }
+
+    /**
+     * Times an operation and records the result.
+     *
+     * @param name what's being measured, such as "selectItemWithValue".
+     * @param size the size of the input, such as the number of items.
+     * @return the median time of one operation in nanoseconds.
+     */
+    long measure(String name, int size, Operation operation) {
+        int iterations = calibrate(operation);
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            timeRun(operation, iterations);
+        }
+
+        long[] nanosPerOperation = new long[MEASURED_RUNS];
+
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            nanosPerOperation[i] = timeRun(operation, iterations) / iterations;
+        }
+
+        Arrays.sort(nanosPerOperation);
+        long median = nanosPerOperation[MEASURED_RUNS / 2];
+
+        results.add(String.format(Locale.US,
+                "{\"name\":\"%s\",\"size\":%d,\"iterations\":%d,\"runs\":%d,"
+                        + "\"medianNanos\":%d,\"minNanos\":%d,\"maxNanos\":%d}",
+                name, size, iterations, MEASURED_RUNS, median,
+                nanosPerOperation[0], nanosPerOperation[MEASURED_RUNS - 1]));
+
+        System.out.println(String.format(Locale.US, "%s.%s[%d]: %d ns/op",
+                suite, name, size, median));
+        return median;
+    }
+
+    /**
+     * Records something other than time, such as memory use, measured by the benchmark itself.
+     *
+     * @param unit what the value is in, such as "bytes".
+     */
+    void record(String name, int size, String unit, long value) {
+        results.add(String.format(Locale.US,
+                "{\"name\":\"%s\",\"size\":%d,\"unit\":\"%s\",\"value\":%d}",
+                name, size, unit, value));
+
+        System.out.println(String.format(Locale.US, "%s.%s[%d]: %d %s",
+                suite, name, size, value, unit));
+    }
+
+    /**
+     * Writes everything measured so far to "{suite}.json" in the directory given by
+     * the {@link #OUTPUT_DIR_PROPERTY} system property, or "build/benchmarks".
+     */
+    void writeResults() throws IOException {
+        File directory = new File(System.getProperty(OUTPUT_DIR_PROPERTY, "build/benchmarks"));
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Couldn't create " + directory);
+        }
+
+        Writer writer = new FileWriter(new File(directory, suite + ".json"));
+
+        try {
+            writer.write("{\"suite\":\"" + suite + "\",\"results\":[\n");
+
+            for (int i = 0; i < results.size(); i++) {
+                writer.write(results.get(i));
+                writer.write(i < results.size() - 1 ? ",\n" : "\n");
+            }
+
+            writer.write("]}\n");
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Finds how many times the operation needs to run for a run to take long
+     * enough to be timed reliably.
+     */
+    private int calibrate(Operation operation) {
+        int iterations = 1;
+
+        while (iterations < Integer.MAX_VALUE / 2) {
+            if (timeRun(operation, iterations) >= MIN_RUN_NANOS) {
+                break;
+            }
+
+            iterations *= 2;
+        }
+
+        return iterations;
+    }
+
+    private long timeRun(Operation operation, int iterations) {
+        int hash = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            Object result = operation.run();
+            hash += result == null ? 0 : System.identityHashCode(result);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        sink += hash;
+        return elapsed;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Compares the memory a list of SwipeItems takes with a {@link CompactSwipeItemStore}
+ * holding the same items. Most of the descriptions are the same, like in a big catalog.
+ */
+public class CompactSwipeItemStoreBenchmark {
+    private static final int DISTINCT_DESCRIPTIONS = 20;
+
+    private static BenchmarkRecorder recorder;
+
+    @BeforeClass
+    public static void setUpRecorder() {
+        recorder = new BenchmarkRecorder(CompactSwipeItemStoreBenchmark.class);
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        recorder.writeResults();
+    }
+
+    @Test
+    public void retainedMemory() {
+        measureMemory(10000);
+        measureMemory(100000);
+    }
+
+    @Test
+    public void positionOfValue() {
+        final int itemCount = 100000;
+        final CompactSwipeItemStore store = new CompactSwipeItemStore.Builder(itemCount)
+                .addAll(generateItems(itemCount))
+                .build();
+        final String lastValue = "value" + (itemCount - 1);
+
+        assertThat(store.positionOfValue(lastValue), is(itemCount - 1));
+
+        recorder.measure("positionOfValue", itemCount, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                return store.positionOfValue(lastValue);
+            }
+        });
+    }
+
+    private void measureMemory(int itemCount) {
+        long baseline = usedMemory();
+        List<SwipeItem> items = generateItems(itemCount);
+        long listBytes = usedMemory() - baseline;
+
+        CompactSwipeItemStore store = new CompactSwipeItemStore.Builder(itemCount)
+                .addAll(items)
+                .build();
+        items = null;
+
+        long storeBytes = usedMemory() - baseline;
+
+        recorder.record("swipeItemList", itemCount, "bytes", listBytes);
+        recorder.record("compactStore", itemCount, "bytes", storeBytes);
+
+        // Keeps the store reachable until it's been measured.
+        assertThat(store.getCount(), is(itemCount));
+    }
+
+    private static List<SwipeItem> generateItems(int itemCount) {
+        List<SwipeItem> items = new ArrayList<>(itemCount);
+
+        for (int i = 0; i < itemCount; i++) {
+            // A new String every time, the same way parsing the XML makes them.
+            String description = new StringBuilder("The description shared by group ")
+                    .append(i % DISTINCT_DESCRIPTIONS)
+                    .toString();
+
+            items.add(new SwipeItem("value" + i, "Title " + i, description));
+        }
+
+        return items;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CompactSwipeItemStoreTest {
+    @Test
+    public void shouldHandOutTheItemsThatWereAdded() {
+        CompactSwipeItemStore store = new CompactSwipeItemStore.Builder(1)
+                .add("pizza", "Pizza", "Food")
+                .add("burger", "Hamburger", null)
+                .add("sushi", "Sushi", "Food")
+                .build();
+
+        assertThat(store.getCount(), is(3));
+        assertThat(store.getItemAt(0).getValue(), is("pizza"));
+        assertThat(store.getItemAt(0).getTitle(), is("Pizza"));
+        assertThat(store.getItemAt(1).getDescription(), nullValue());
+        assertThat(store.getItemAt(2).getDescription(), is("Food"));
+    }
+
+    @Test
+    public void shouldStoreEachDistinctStringOnce() {
+        CompactSwipeItemStore store = new CompactSwipeItemStore.Builder()
+                .addAll(Arrays.asList(
+                        new SwipeItem("a", "Same", new String("Shared")),
+                        new SwipeItem("b", "Same", new String("Shared")),
+                        new SwipeItem("c", "Same", new String("Shared"))))
+                .build();
+
+        // "a", "b", "c", "Same" and "Shared"
+        assertThat(store.getDistinctStringCount(), is(5));
+        assertThat(store.getDescriptionAt(0) == store.getDescriptionAt(2), is(true));
+    }
+
+    @Test
+    public void shouldFindPositionsByValue() {
+        CompactSwipeItemStore store = new CompactSwipeItemStore.Builder()
+                .add("pizza", "Pizza", null)
+                .add("burger", "Hamburger", null)
+                .add("pizza", "Another pizza", null)
+                .build();
+
+        assertThat(store.positionOfValue("burger"), is(1));
+        assertThat(store.positionOfValue("pizza"), is(0));
+        assertThat(store.positionOfValue("Hamburger"), is(-1));
+        assertThat(store.positionOfValue("sushi"), is(-1));
+    }
+
+    @Test
+    public void shouldFindNullValuesAndStringsThatAreNeverValues() {
+        CompactSwipeItemStore store = new CompactSwipeItemStore.Builder()
+                .add("pizza", "Pizza", null)
+                .add(null, "No value", null)
+                .add(null, "No value either", null)
+                .build();
+
+        assertThat(store.positionOfValue(null), is(1));
+        assertThat(store.positionOfValue("No value"), is(-1));
+        assertThat(new CompactSwipeItemStore.Builder().build().positionOfValue(null), is(-1));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.app.Activity;
+import android.view.View;
+import android.widget.LinearLayout;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Scrolls through a list of 1000 rows with a SwipeSelector in each, the way a
+ * RecyclerView would: a handful of row views get bound to one row after another,
+ * and each one is measured and laid out after binding.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class RowBindingBenchmark {
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int ROW_COUNT = 1000;
+    private static final int VISIBLE_ROWS = 8;
+    private static final int ITEMS_PER_ROW = 5;
+
+    private static BenchmarkRecorder recorder;
+
+    private SwipeSelector[] rowViews;
+    private List<List<SwipeItem>> rows;
+    private int[] selectedPositions;
+
+    @BeforeClass
+    public static void setUpRecorder() {
+        recorder = new BenchmarkRecorder(RowBindingBenchmark.class);
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        recorder.writeResults();
+    }
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        LinearLayout list = new LinearLayout(activity);
+        list.setOrientation(LinearLayout.VERTICAL);
+        activity.setContentView(list);
+
+        rowViews = new SwipeSelector[VISIBLE_ROWS];
+
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            rowViews[i] = new SwipeSelector(activity);
+
+            if (i > 0) {
+                rowViews[i].sharePagePoolWith(rowViews[0]);
+            }
+
+            list.addView(rowViews[i]);
+        }
+
+        rows = new ArrayList<>(ROW_COUNT);
+        selectedPositions = new int[ROW_COUNT];
+
+        for (int row = 0; row < ROW_COUNT; row++) {
+            List<SwipeItem> items = new ArrayList<>(ITEMS_PER_ROW);
+
+            for (int i = 0; i < ITEMS_PER_ROW; i++) {
+                items.add(new SwipeItem("value" + i, "Row " + row + ", item " + i,
+                        "The description of item " + i + " on row " + row + "."));
+            }
+
+            rows.add(items);
+            selectedPositions[row] = row % ITEMS_PER_ROW;
+        }
+    }
+
+    @Test
+    public void bind() {
+        scrollThroughRows("bind", new RowBinder() {
+            @Override
+            public void bind(SwipeSelector rowView, List<SwipeItem> items, int selectedPosition) {
+                rowView.bind(items, selectedPosition);
+            }
+        });
+    }
+
+    @Test
+    public void setItems() {
+        scrollThroughRows("setItems", new RowBinder() {
+            @Override
+            public void bind(SwipeSelector rowView, List<SwipeItem> items, int selectedPosition) {
+                rowView.setItems(items.toArray(new SwipeItem[items.size()]));
+                rowView.selectItemAt(selectedPosition, false);
+            }
+        });
+    }
+
+    private void scrollThroughRows(String name, final RowBinder binder) {
+        final int widthSpec = View.MeasureSpec.makeMeasureSpec(SCREEN_WIDTH, View.MeasureSpec.EXACTLY);
+        final int heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+        recorder.measure(name, ROW_COUNT, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                for (int row = 0; row < ROW_COUNT; row++) {
+                    SwipeSelector rowView = rowViews[row % VISIBLE_ROWS];
+                    binder.bind(rowView, rows.get(row), selectedPositions[row]);
+
+                    rowView.measure(widthSpec, heightSpec);
+                    rowView.layout(0, 0, rowView.getMeasuredWidth(), rowView.getMeasuredHeight());
+                }
+
+                return rowViews;
+            }
+        });
+
+        int lastRow = ROW_COUNT - 1;
+        assertThat(rowViews[lastRow % VISIBLE_ROWS].getSelectedItem(),
+                is(rows.get(lastRow).get(selectedPositions[lastRow])));
+    }
+
+    private interface RowBinder {
+        void bind(SwipeSelector rowView, List<SwipeItem> items, int selectedPosition);
+    }
+}
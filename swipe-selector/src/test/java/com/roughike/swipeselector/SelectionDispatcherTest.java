@@ -0,0 +1,142 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SelectionDispatcherTest {
+    private final SwipeItem first = new SwipeItem("first", "First", null);
+    private final SwipeItem second = new SwipeItem("second", "Second", null);
+    private final SwipeItem third = new SwipeItem("third", "Third", null);
+
+    private final List<SwipeItem> delivered = new ArrayList<>();
+    private SelectionDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        dispatcher = new SelectionDispatcher();
+        dispatcher.setListener(new OnSwipeItemSelectedListener() {
+            @Override
+            public void onItemSelected(SwipeItem item) {
+                delivered.add(item);
+            }
+        });
+    }
+
+    @Test
+    public void shouldDeliverEverySelectionImmediatelyByDefault() {
+        dispatcher.onItemSelected(first, false);
+        dispatcher.onItemSelected(second, false);
+        dispatcher.onItemSelected(first, true);
+
+        assertThat(delivered, is(Arrays.asList(first, second, first)));
+    }
+
+    @Test
+    public void shouldOnlyDeliverWhereTheSwipingSettled() {
+        dispatcher.setDelivery(SelectionDispatcher.DELIVER_WHEN_SETTLED);
+
+        dispatcher.onItemSelected(first, false);
+        dispatcher.onItemSelected(second, false);
+        assertThat(delivered.isEmpty(), is(true));
+
+        dispatcher.onSettled();
+        assertThat(delivered, is(Arrays.asList(second)));
+    }
+
+    @Test
+    public void swipingAwayAndBackBeforeSettlingShouldNotDeliverAgain() {
+        dispatcher.setDelivery(SelectionDispatcher.DELIVER_WHEN_SETTLED);
+        dispatcher.onItemSelected(first, true);
+
+        dispatcher.onItemSelected(second, false);
+        dispatcher.onItemSelected(first, false);
+        dispatcher.onSettled();
+
+        assertThat(delivered, is(Arrays.asList(first)));
+    }
+
+    @Test
+    public void theSameItemShouldBeDeliveredAgainAfterCancelling() {
+        dispatcher.setDelivery(SelectionDispatcher.DELIVER_WHEN_SETTLED);
+        dispatcher.onItemSelected(first, true);
+
+        // What happens when a row gets bound again with the same items.
+        dispatcher.cancel();
+        dispatcher.onItemSelected(first, true);
+
+        assertThat(delivered, is(Arrays.asList(first, first)));
+    }
+
+    @Test
+    public void debouncingShouldOnlyDeliverTheLastSelection() {
+        dispatcher.setDebounceMillis(100);
+
+        dispatcher.onItemSelected(first, true);
+        dispatcher.onItemSelected(second, true);
+        dispatcher.onItemSelected(third, true);
+        ShadowLooper.idleMainLooper(99);
+        assertThat(delivered.isEmpty(), is(true));
+
+        ShadowLooper.idleMainLooper(1);
+        assertThat(delivered, is(Arrays.asList(third)));
+    }
+
+    @Test
+    public void cancellingShouldDropADebouncedSelection() {
+        dispatcher.setDebounceMillis(100);
+
+        dispatcher.onItemSelected(first, true);
+        dispatcher.cancel();
+        ShadowLooper.idleMainLooper(100);
+
+        assertThat(delivered.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldHandTheDeliveryToTheExecutor() {
+        final List<Runnable> tasks = new ArrayList<>();
+        dispatcher.setExecutor(new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        });
+
+        dispatcher.onItemSelected(first, true);
+        assertThat(delivered.isEmpty(), is(true));
+        assertThat(tasks.size(), is(1));
+
+        tasks.get(0).run();
+        assertThat(delivered, is(Arrays.asList(first)));
+    }
+}
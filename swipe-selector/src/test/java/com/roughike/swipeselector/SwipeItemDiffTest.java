@@ -0,0 +1,145 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.roughike.swipeselector;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class SwipeItemDiffTest {
+    private static final int REMOVED = SwipeItemDiff.REMOVED;
+
+    @Test
+    public void shouldMatchItemsByValue() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.calculate(
+                items("pizza", "burger", "sushi"),
+                Arrays.asList(
+                        new SwipeItem("sushi", "sushi", null),
+                        new SwipeItem("pizza", "Pizza with pineapple", null),
+                        new SwipeItem("kebab", "kebab", null)
+                )
+        );
+
+        assertThat(newPositions(diff), is(new int[] {1, REMOVED, 0}));
+        assertThat(diff.getNewCount(), is(3));
+        assertThat(diff.isChanged(0), is(false));
+        assertThat(diff.isChanged(1), is(true));
+        // Inserted items get bound when their pages are created, so they aren't changes.
+        assertThat(diff.isChanged(2), is(false));
+    }
+
+    @Test
+    public void onlyTheFirstOfDuplicateValuesShouldBeMatched() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.calculate(
+                items("pizza", "pizza", "burger"),
+                items("pizza", "burger", "pizza")
+        );
+
+        assertThat(newPositions(diff), is(new int[] {0, REMOVED, 1}));
+        assertThat(diff.getNewCount(), is(3));
+    }
+
+    @Test
+    public void insertingShouldShiftTheItemsAfter() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.inserted(5, 2, 3);
+
+        assertThat(newPositions(diff), is(new int[] {0, 1, 5, 6, 7}));
+        assertThat(diff.getNewCount(), is(8));
+    }
+
+    @Test
+    public void removingShouldShiftTheItemsAfter() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.removed(5, 1, 2);
+
+        assertThat(newPositions(diff), is(new int[] {0, REMOVED, REMOVED, 1, 2}));
+        assertThat(diff.getNewCount(), is(3));
+    }
+
+    @Test
+    public void movingShouldShiftTheItemsInBetween() {
+        assertThat(newPositions(SwipeItemDiff.moved(5, 1, 3)), is(new int[] {0, 3, 1, 2, 4}));
+        assertThat(newPositions(SwipeItemDiff.moved(5, 3, 1)), is(new int[] {0, 2, 3, 1, 4}));
+        assertThat(newPositions(SwipeItemDiff.moved(3, 1, 1)), is(new int[] {0, 1, 2}));
+    }
+
+    @Test
+    public void changingShouldKeepThePositions() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.changed(4, 1, 2);
+
+        assertThat(newPositions(diff), is(new int[] {0, 1, 2, 3}));
+        assertThat(diff.isChanged(0), is(false));
+        assertThat(diff.isChanged(1), is(true));
+        assertThat(diff.isChanged(2), is(true));
+        assertThat(diff.isChanged(3), is(false));
+    }
+
+    @Test
+    public void replacingShouldChangeEverythingAndDropThePagesPastTheEnd() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.replaced(3, 2);
+
+        assertThat(newPositions(diff), is(new int[] {0, 1, REMOVED}));
+        assertThat(diff.isChanged(0), is(true));
+        assertThat(diff.isChanged(1), is(true));
+    }
+
+    @Test
+    public void positionsOutsideTheOldItemsShouldBeRemoved() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.changed(2, 0, 0);
+
+        assertThat(diff.getNewPosition(-1), is(REMOVED));
+        assertThat(diff.getNewPosition(2), is(REMOVED));
+    }
+
+    @Test
+    public void aRemovedSelectionShouldMoveToTheNextItemStillAround() {
+        SwipeItemDiff.Result diff = SwipeItemDiff.removed(5, 1, 2);
+
+        assertThat(diff.getNewPositionOrClosest(1), is(1));
+        assertThat(diff.getNewPositionOrClosest(2), is(1));
+        assertThat(diff.getNewPositionOrClosest(4), is(2));
+    }
+
+    @Test
+    public void aRemovedSelectionShouldMoveToTheLastItemWhenNothingAfterItIsLeft() {
+        assertThat(SwipeItemDiff.removed(5, 3, 2).getNewPositionOrClosest(4), is(2));
+        assertThat(SwipeItemDiff.removed(3, 0, 3).getNewPositionOrClosest(1), is(0));
+    }
+
+    private static List<SwipeItem> items(String... values) {
+        SwipeItem[] items = new SwipeItem[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            items[i] = new SwipeItem(values[i], values[i], null);
+        }
+
+        return Arrays.asList(items);
+    }
+
+    private static int[] newPositions(SwipeItemDiff.Result diff) {
+        int[] positions = new int[diff.getOldCount()];
+
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = diff.getNewPosition(i);
+        }
+
+        return positions;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.content.Context;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+import org.xmlpull.v1.XmlPullParserFactory;
+
+import java.io.StringReader;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SwipeItemParserBenchmark {
+    private static BenchmarkRecorder recorder;
+
+    @BeforeClass
+    public static void setUpRecorder() {
+        recorder = new BenchmarkRecorder(SwipeItemParserBenchmark.class);
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        recorder.writeResults();
+    }
+
+    @Test
+    public void parseItems() throws Exception {
+        measureParsing(100);
+        measureParsing(1000);
+        measureParsing(10000);
+    }
+
+    private void measureParsing(final int itemCount) throws Exception {
+        final Context context = RuntimeEnvironment.application;
+        final String xml = generateItems(itemCount);
+        final XmlPullParserFactory factory = XmlPullParserFactory.newInstance();
+
+        assertThat(new SwipeItemParser(context, newParser(factory, xml)).parseItems().size(),
+                is(itemCount));
+
+        recorder.measure("parseItems", itemCount, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                try {
+                    return new SwipeItemParser(context, newParser(factory, xml)).parseItems();
+                } catch (XmlPullParserException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+    private static XmlPullParser newParser(XmlPullParserFactory factory, String xml)
+            throws XmlPullParserException {
+        XmlPullParser parser = factory.newPullParser();
+        parser.setInput(new StringReader(xml));
+        return parser;
+    }
+
+    private static String generateItems(int itemCount) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<swipeitems>\n");
+
+        for (int i = 0; i < itemCount; i++) {
+            xml.append("    <item value=\"value").append(i)
+                    .append("\" title=\"Title ").append(i)
+                    .append("\" description=\"A somewhat longer description for item ").append(i)
+                    .append(", long enough to wrap on most screens.\" />\n");
+        }
+
+        return xml.append("</swipeitems>\n").toString();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class SwipeMetricsTest {
+    @Test
+    public void shouldCountAndTimeEachOperationSeparately() {
+        SwipeMetrics metrics = new SwipeMetrics();
+        metrics.record(SwipeMetrics.BIND, 1000);
+        metrics.record(SwipeMetrics.BIND, 3000);
+        metrics.record(SwipeMetrics.MEASURE, 500);
+
+        SwipeMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getCount(SwipeMetrics.BIND), is(2L));
+        assertThat(snapshot.getTotalNanos(SwipeMetrics.BIND), is(4000L));
+        assertThat(snapshot.getMeanNanos(SwipeMetrics.BIND), is(2000L));
+        assertThat(snapshot.getMaxNanos(SwipeMetrics.BIND), is(3000L));
+        assertThat(snapshot.getCount(SwipeMetrics.MEASURE), is(1L));
+        assertThat(snapshot.getCount(SwipeMetrics.PARSE), is(0L));
+    }
+
+    @Test
+    public void percentilesShouldBeUpperBoundsOfTheirBuckets() {
+        SwipeMetrics metrics = new SwipeMetrics();
+
+        for (int i = 0; i < 99; i++) {
+            metrics.record(SwipeMetrics.BIND, 1000);
+        }
+
+        metrics.record(SwipeMetrics.BIND, 1000000);
+
+        SwipeMetrics.Snapshot snapshot = metrics.snapshot();
+
+        // 1000 falls into the bucket from 512 to 1023.
+        assertThat(snapshot.getPercentileNanos(SwipeMetrics.BIND, 50), is(1023L));
+        assertThat(snapshot.getPercentileNanos(SwipeMetrics.BIND, 99), is(1023L));
+        assertThat(snapshot.getPercentileNanos(SwipeMetrics.BIND, 100), is(1000000L));
+        assertThat(snapshot.getPercentileNanos(SwipeMetrics.PARSE, 50), is(0L));
+    }
+
+    @Test
+    public void reportingShouldStartOver() {
+        final SwipeMetrics metrics = new SwipeMetrics();
+        final long[] reportedCount = new long[1];
+        metrics.record(SwipeMetrics.DISPATCH, 100);
+
+        metrics.reportTo(new SwipeMetrics.Reporter() {
+            @Override
+            public void report(SwipeMetrics.Snapshot snapshot) {
+                reportedCount[0] = snapshot.getCount(SwipeMetrics.DISPATCH);
+            }
+        });
+
+        assertThat(reportedCount[0], is(1L));
+        assertThat(metrics.snapshot().getCount(SwipeMetrics.DISPATCH), is(0L));
+        assertThat(metrics.snapshot().getMaxNanos(SwipeMetrics.DISPATCH), is(0L));
+    }
+
+    @Test
+    public void operationsRecordedWhileReportingShouldNotBeLost() throws InterruptedException {
+        final SwipeMetrics metrics = new SwipeMetrics();
+        final int recordsPerThread = 100000;
+        final long[] reportedCount = new long[1];
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < recordsPerThread; j++) {
+                        metrics.record(SwipeMetrics.BIND, 100);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        SwipeMetrics.Reporter reporter = new SwipeMetrics.Reporter() {
+            @Override
+            public void report(SwipeMetrics.Snapshot snapshot) {
+                reportedCount[0] += snapshot.getCount(SwipeMetrics.BIND);
+            }
+        };
+
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                metrics.reportTo(reporter);
+            }
+
+            thread.join();
+        }
+
+        metrics.reportTo(reporter);
+
+        assertThat(reportedCount[0], is((long) threads.length * recordsPerThread));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+import android.widget.ImageView;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SwipeSelectorBenchmark {
+    private static final int SCREEN_WIDTH = 1080;
+
+    private static BenchmarkRecorder recorder;
+
+    private Activity activity;
+
+    @BeforeClass
+    public static void setUpRecorder() {
+        recorder = new BenchmarkRecorder(SwipeSelectorBenchmark.class);
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        recorder.writeResults();
+    }
+
+    @Before
+    public void setUp() {
+        activity = Robolectric.setupActivity(Activity.class);
+    }
+
+    @Test
+    public void selectItemWithValue() {
+        measureSelectingByValue(10);
+        measureSelectingByValue(1000);
+        measureSelectingByValue(100000);
+    }
+
+    @Test
+    public void instantiateItem() {
+        final WrappingPager pager = new WrappingPager(activity);
+        final SwipeAdapter adapter = newAdapter(pager, new IndicatorStripView(activity));
+        adapter.setItems(generateItems(1000));
+
+        // Every page but the first is a recycled one, like when swiping.
+        recorder.measure("instantiateItem", 1000, new BenchmarkRecorder.Operation() {
+            int position;
+
+            @Override
+            public Object run() {
+                position = (position + 1) % 1000;
+
+                Object page = adapter.instantiateItem(pager, position);
+                adapter.destroyItem(pager, position, page);
+                return page;
+            }
+        });
+    }
+
+    @Test
+    public void measureWrappingPager() {
+        SwipeSelector selector = newSelector(1000);
+        final WrappingPager pager = (WrappingPager) selector.findViewById(
+                R.id.swipeselector_layout_swipePager);
+        final int widthSpec = View.MeasureSpec.makeMeasureSpec(SCREEN_WIDTH, View.MeasureSpec.EXACTLY);
+        final int heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+        pager.measure(widthSpec, heightSpec);
+        assertThat(pager.getChildCount() > 0, is(true));
+
+        recorder.measure("onMeasure.cold", 1000, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                pager.invalidateMeasureCache();
+                pager.measure(widthSpec, heightSpec);
+                return pager;
+            }
+        });
+
+        recorder.measure("onMeasure.cached", 1000, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                pager.measure(widthSpec, heightSpec);
+                return pager;
+            }
+        });
+    }
+
+    @Test
+    public void indicatorUpdates() {
+        measureIndicatorUpdates(10);
+        measureIndicatorUpdates(1000);
+    }
+
+    private void measureSelectingByValue(final int itemCount) {
+        final SwipeSelector selector = newSelector(itemCount);
+        final String firstValue = "value0";
+        final String lastValue = "value" + (itemCount - 1);
+
+        selector.selectItemWithValue(lastValue, false);
+        assertThat(selector.getSelectedItem().getValue(), is(lastValue));
+
+        // Goes back and forth, so every call actually changes the selection.
+        recorder.measure("selectItemWithValue", itemCount, new BenchmarkRecorder.Operation() {
+            boolean last;
+
+            @Override
+            public Object run() {
+                last = !last;
+                selector.selectItemWithValue(last ? lastValue : firstValue, false);
+                return selector;
+            }
+        });
+    }
+
+    private void measureIndicatorUpdates(final int itemCount) {
+        IndicatorStripView indicatorStrip = new IndicatorStripView(activity);
+        final SwipeAdapter adapter = newAdapter(new WrappingPager(activity), indicatorStrip);
+        adapter.setItems(generateItems(itemCount));
+
+        indicatorStrip.measure(
+                View.MeasureSpec.makeMeasureSpec(SCREEN_WIDTH, View.MeasureSpec.AT_MOST),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        indicatorStrip.layout(0, 0, indicatorStrip.getMeasuredWidth(), indicatorStrip.getMeasuredHeight());
+
+        final IndicatorStripView strip = indicatorStrip;
+        final Canvas canvas = new Canvas(Bitmap.createBitmap(strip.getMeasuredWidth(),
+                strip.getMeasuredHeight(), Bitmap.Config.ARGB_8888));
+
+        // A swipe from one item to the next: a few frames of progress, then the selection.
+        recorder.measure("indicatorSwipe", itemCount, new BenchmarkRecorder.Operation() {
+            int position;
+
+            @Override
+            public Object run() {
+                for (int frame = 0; frame < 10; frame++) {
+                    adapter.onPageScrolled(position, frame / 10f, frame * SCREEN_WIDTH / 10);
+                    strip.draw(canvas);
+                }
+
+                position = (position + 1) % (itemCount - 1);
+                adapter.onPageSelected(position);
+                strip.draw(canvas);
+                return strip;
+            }
+        });
+    }
+
+    private SwipeSelector newSelector(int itemCount) {
+        SwipeSelector selector = new SwipeSelector(activity);
+        activity.setContentView(selector);
+
+        List<SwipeItem> items = generateItems(itemCount);
+        selector.setItems(items.toArray(new SwipeItem[items.size()]));
+
+        selector.measure(
+                View.MeasureSpec.makeMeasureSpec(SCREEN_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        selector.layout(0, 0, selector.getMeasuredWidth(), selector.getMeasuredHeight());
+        return selector;
+    }
+
+    private SwipeAdapter newAdapter(WrappingPager pager, IndicatorStripView indicatorStrip) {
+        return new SwipeAdapter.Builder()
+                .viewPager(pager)
+                .indicatorStrip(indicatorStrip)
+                .indicatorSize((int) PixelUtils.dpToPixel(activity, 8))
+                .indicatorMargin((int) PixelUtils.dpToPixel(activity, 8))
+                .leftButton(new ImageView(activity))
+                .rightButton(new ImageView(activity))
+                .leftButtonResource(R.drawable.ic_action_navigation_chevron_left)
+                .rightButtonResource(R.drawable.ic_action_navigation_chevron_right)
+                .titleTextAppearance(-1)
+                .descriptionTextAppearance(-1)
+                .descriptionGravity(-1)
+                .build();
+    }
+
+    private static List<SwipeItem> generateItems(int itemCount) {
+        List<SwipeItem> items = new ArrayList<>(itemCount);
+
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new SwipeItem("value" + i, "Title " + i,
+                    i % 3 == 0 ? null : "A somewhat longer description for item " + i
+                            + ", long enough to wrap on most screens."));
+        }
+
+        return items;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * How long finding items by title takes with lots of items, and how long indexing
+ * the titles for it takes in the first place.
+ */
+public class TitleIndexBenchmark {
+    private static final int ITEM_COUNT = 100000;
+
+    private static BenchmarkRecorder recorder;
+    private static String[] titles;
+
+    @BeforeClass
+    public static void setUp() {
+        recorder = new BenchmarkRecorder(TitleIndexBenchmark.class);
+        titles = generateTitles(ITEM_COUNT);
+    }
+
+    @AfterClass
+    public static void writeResults() throws Exception {
+        recorder.writeResults();
+    }
+
+    @Test
+    public void build() {
+        recorder.measure("build", ITEM_COUNT, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                return TitleIndex.build(titles);
+            }
+        });
+    }
+
+    @Test
+    public void positionOfPrefix() {
+        final TitleIndex index = TitleIndex.build(titles);
+        final String lastTitle = titles[ITEM_COUNT - 1];
+
+        assertThat(index.positionOfPrefix(lastTitle), is(ITEM_COUNT - 1));
+
+        recorder.measure("positionOfPrefix", ITEM_COUNT, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                return index.positionOfPrefix(lastTitle);
+            }
+        });
+
+        // A short prefix matches lots of titles, and the first of them has to be found.
+        recorder.measure("positionOfShortPrefix", ITEM_COUNT, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                return index.positionOfPrefix("m");
+            }
+        });
+    }
+
+    @Test
+    public void positionOfSubstring() {
+        final TitleIndex index = TitleIndex.build(titles);
+        final String lastTitle = titles[ITEM_COUNT - 1];
+        final String middleOfLastTitle = lastTitle.substring(2, lastTitle.length() - 2);
+
+        assertThat(index.positionOfSubstring(middleOfLastTitle), is(ITEM_COUNT - 1));
+
+        recorder.measure("positionOfSubstring", ITEM_COUNT, new BenchmarkRecorder.Operation() {
+            @Override
+            public Object run() {
+                return index.positionOfSubstring(middleOfLastTitle);
+            }
+        });
+    }
+
+    /**
+     * Random words followed by the position, so every title is different,
+     * and they're not already in order.
+     */
+    private static String[] generateTitles(int count) {
+        Random random = new Random(42);
+        String[] titles = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            StringBuilder title = new StringBuilder();
+            title.append((char) ('A' + random.nextInt(26)));
+
+            for (int j = random.nextInt(8) + 4; j > 0; j--) {
+                title.append((char) ('a' + random.nextInt(26)));
+            }
+
+            titles[i] = title.append(' ').append(i).toString();
+        }
+
+        return titles;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class TitleIndexTest {
+    private final TitleIndex index = TitleIndex.build(new String[] {
+            null, "Sweden", "Switzerland", "Finland", "Swaziland", "finland"
+    });
+
+    @Test
+    public void shouldFindTheFirstPositionByPrefixIgnoringCase() {
+        assertThat(index.positionOfPrefix("sw"), is(1));
+        assertThat(index.positionOfPrefix("SWI"), is(2));
+        assertThat(index.positionOfPrefix("Swa"), is(4));
+        assertThat(index.positionOfPrefix("finland"), is(3));
+        assertThat(index.positionOfPrefix("Norway"), is(-1));
+    }
+
+    @Test
+    public void shouldFindTheFirstPositionBySubstringIgnoringCase() {
+        assertThat(index.positionOfSubstring("LAND"), is(2));
+        assertThat(index.positionOfSubstring("wed"), is(1));
+        assertThat(index.positionOfSubstring("way"), is(-1));
+    }
+
+    @Test
+    public void shouldNotFindAnythingWithAnEmptyQuery() {
+        assertThat(index.positionOfPrefix(""), is(-1));
+        assertThat(index.positionOfSubstring(""), is(-1));
+    }
+}
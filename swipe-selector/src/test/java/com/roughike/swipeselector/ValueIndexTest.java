@@ -0,0 +1,55 @@
+/*
+ * SwipeSelector library for Android
+ * Copyright (c) 2016 Iiro Krankka (http://github.com/roughike).
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.roughike.swipeselector;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ValueIndexTest {
+    @Test
+    public void shouldFindPositionsByValue() {
+        ValueIndex index = ValueIndex.build(Arrays.asList(
+                new SwipeItem("pizza", "Pizza", null),
+                new SwipeItem("burger", "Hamburger", null),
+                new SwipeItem("sushi", "Sushi", null)
+        ));
+
+        assertThat(index.positionOf("pizza"), is(0));
+        assertThat(index.positionOf("burger"), is(1));
+        assertThat(index.positionOf("sushi"), is(2));
+        assertThat(index.positionOf("kebab"), is(-1));
+        assertThat(index.getDuplicateValues().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldPickTheFirstOfDuplicateValuesAndReportThem() {
+        ValueIndex index = ValueIndex.build(Arrays.asList(
+                new SwipeItem("pizza", "Pizza", null),
+                new SwipeItem("pizza", "Another pizza", null),
+                new SwipeItem(null, "No value", null)
+        ));
+
+        assertThat(index.positionOf("pizza"), is(0));
+        assertThat(index.positionOf(null), is(2));
+        assertThat(index.getDuplicateValues(), is(Arrays.asList("pizza")));
+    }
+}